@@ -0,0 +1,60 @@
+package com.app.taskmanagement.benchmark;
+
+import com.app.taskmanagement.dto.response.ApiResponse;
+import com.app.taskmanagement.dto.response.AuthResponse;
+import com.app.taskmanagement.mapper.AuthMapperImpl;
+import com.app.taskmanagement.mapper.UserMapperImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<AuthResponse> authResponse;
+    private ApiResponse<Void> errorResponse;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        AuthResponse auth = new AuthMapperImpl().toAuthResponse(
+                "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiI0MiJ9.signature",
+                BenchmarkFixtures.ACCESS_TOKEN_EXPIRATION,
+                new UserMapperImpl().toDto(BenchmarkFixtures.user())
+        );
+        authResponse = ApiResponse.success(auth);
+        errorResponse = ApiResponse.error("Validation failed", "VAL_3001",
+                Map.of("email", "Email must be valid", "password", "Password is required"));
+    }
+
+    @Benchmark
+    public byte[] serializeAuthResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(authResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeErrorResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(errorResponse);
+    }
+}
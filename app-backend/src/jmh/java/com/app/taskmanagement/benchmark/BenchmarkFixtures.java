@@ -0,0 +1,63 @@
+package com.app.taskmanagement.benchmark;
+
+import com.app.taskmanagement.config.JwtSigningProperties;
+import com.app.taskmanagement.model.User;
+import com.app.taskmanagement.security.JwtKeyRing;
+import com.app.taskmanagement.security.JwtUtil;
+import com.app.taskmanagement.security.TokenEpochStore;
+import com.app.taskmanagement.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+final class BenchmarkFixtures {
+
+    static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+    static final long ACCESS_TOKEN_EXPIRATION = 15 * 60 * 1000L;
+
+    private BenchmarkFixtures() {}
+
+    static User user() {
+        return User.builder()
+                .id(42L)
+                .publicId("3f9a6c1e-5b7d-4e2a-9c8f-1d2e3f4a5b6c")
+                .email("bench.user@example.com")
+                .passwordHash("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2ZQ3h1Yg6v1cF0c1ZsQ2rZu")
+                .fullName("Bench User")
+                .role(User.Role.USER)
+                .authProvider(User.AuthProvider.LOCAL)
+                .emailVerified(true)
+                .isActive(true)
+                .mfaEnabled(false)
+                .build();
+    }
+
+    static JwtUtil jwtUtil(JwtSigningProperties.Algorithm algorithm, long verifiedCacheSize) {
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setAlgorithm(algorithm);
+
+        JwtUtil jwtUtil = new JwtUtil(
+                new VerifiedTokenCache(new SimpleMeterRegistry(), verifiedCacheSize),
+                new FixedEpochStore(),
+                new JwtKeyRing(properties, SECRET),
+                new SimpleMeterRegistry()
+        );
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiration", ACCESS_TOKEN_EXPIRATION);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    /** Epoch store that never touches Redis. */
+    private static final class FixedEpochStore extends TokenEpochStore {
+
+        FixedEpochStore() {
+            super(new RedisTemplate<>(), new RedisMessageListenerContainer(), 1, 1);
+        }
+
+        @Override
+        public long currentEpoch(Long userId) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.app.taskmanagement.benchmark;
+
+import com.app.taskmanagement.dto.response.BulkImportResultDto;
+import com.app.taskmanagement.service.BulkUserImportService;
+import com.app.taskmanagement.service.PasswordHashingService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Provisions 100k users from a generated CSV stream through {@link BulkUserImportService} and
+ * compares it with the row-at-a-time path (hash, then one INSERT per user) on a smaller sample.
+ * The CSV is produced lazily, so the import never sees more than one batch in memory.
+ * Not a JMH benchmark; needs a disposable PostgreSQL with the {@code users} table and is run with
+ * {@code mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.app.taskmanagement.benchmark.BulkImportBenchmark
+ * -Djdbc.url=jdbc:postgresql://localhost:5432/taskmanagement -Djdbc.user=postgres -Djdbc.password=postgres}.
+ * BCrypt strength defaults to 4 ({@code -Dbcrypt.strength}) so the run measures the pipeline
+ * rather than the configured work factor. The bulk hashing pool gets one thread per core
+ * ({@code -Dbulk.threads}) instead of the production default of one.
+ */
+public final class BulkImportBenchmark {
+
+    private static final String EMAIL_PREFIX = "bulk-bench-";
+    private static final String EMAIL_DOMAIN = "@example.com";
+
+    private BulkImportBenchmark() {}
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("users", 100_000);
+        int baselineUsers = Integer.getInteger("baseline.users", users / 10);
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("jdbc.url", "jdbc:postgresql://localhost:5432/taskmanagement"),
+                System.getProperty("jdbc.user", "postgres"),
+                System.getProperty("jdbc.password", "postgres"));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(Integer.getInteger("bcrypt.strength", 4));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PasswordHashingService hashingService = new PasswordHashingService(
+                encoder, meterRegistry, 0, 64, 5000,
+                Integer.getInteger("bulk.threads", Runtime.getRuntime().availableProcessors()));
+
+        try (ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory()) {
+            // Only the synchronous import is measured, so there is no job executor or job store
+            BulkUserImportService importService = new BulkUserImportService(
+                    jdbcTemplate, hashingService, new ObjectMapper(), validatorFactory.getValidator(),
+                    null, null, meterRegistry, 500, 1000, 24);
+
+            cleanUp(jdbcTemplate);
+            long baselineNanos = rowAtATime(jdbcTemplate, encoder, baselineUsers);
+            cleanUp(jdbcTemplate);
+
+            long start = System.nanoTime();
+            BulkImportResultDto result = importService.importUsers(
+                    new GeneratedCsv(users), MediaType.parseMediaType(BulkUserImportService.TEXT_CSV_VALUE), false);
+            long bulkNanos = System.nanoTime() - start;
+
+            System.out.printf("row-at-a-time : %d users in %.1f s (%.0f users/s)%n",
+                    baselineUsers, baselineNanos / 1e9, baselineUsers / (baselineNanos / 1e9));
+            System.out.printf("bulk import   : %d users in %.1f s (%.0f users/s), %d created, %d failed%n",
+                    users, bulkNanos / 1e9, users / (bulkNanos / 1e9), result.getCreated(), result.getFailed());
+        } finally {
+            cleanUp(jdbcTemplate);
+            hashingService.shutdown();
+        }
+    }
+
+    private static long rowAtATime(JdbcTemplate jdbcTemplate, BCryptPasswordEncoder encoder, int users) {
+        long start = System.nanoTime();
+        for (int i = 0; i < users; i++) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.update("""
+                    INSERT INTO users (public_id, email, password_hash, full_name, role, auth_provider,
+                        email_verified, is_active, mfa_enabled, created_at, updated_at)
+                    VALUES (?, ?, ?, ?, 'USER', 'LOCAL', false, true, false, ?, ?)
+                    """,
+                    UUID.randomUUID().toString(), EMAIL_PREFIX + i + EMAIL_DOMAIN,
+                    encoder.encode("password-" + i), "Bench User " + i, now, now);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void cleanUp(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", EMAIL_PREFIX + "%" + EMAIL_DOMAIN);
+    }
+
+    /**
+     * CSV body generated one line at a time.
+     */
+    private static final class GeneratedCsv extends InputStream {
+
+        private final int rows;
+        private int nextRow = -1;
+        private byte[] line = new byte[0];
+        private int position;
+
+        private GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (position == line.length && !advance()) {
+                return -1;
+            }
+            return line[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (position == line.length && !advance()) {
+                return -1;
+            }
+            int count = Math.min(length, line.length - position);
+            System.arraycopy(line, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean advance() {
+            if (nextRow >= rows) {
+                return false;
+            }
+            String text = nextRow < 0
+                    ? "email,fullName,password\n"
+                    : EMAIL_PREFIX + nextRow + EMAIL_DOMAIN + ",Bench User " + nextRow + ",password-" + nextRow + "\n";
+            nextRow++;
+            line = text.getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            return true;
+        }
+    }
+}
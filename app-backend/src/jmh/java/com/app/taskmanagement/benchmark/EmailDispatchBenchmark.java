@@ -0,0 +1,84 @@
+package com.app.taskmanagement.benchmark;
+
+import com.app.taskmanagement.service.EmailDispatcher;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-message SMTP sessions versus one batched session, against a local GreenMail server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailDispatchBenchmark {
+
+    @Param({"50"})
+    private int messages;
+
+    private GreenMail smtpServer;
+    private JavaMailSenderImpl mailSender;
+    private EmailDispatcher dispatcher;
+    private List<SimpleMailMessage> batch;
+
+    @Setup
+    public void setUp() {
+        smtpServer = new GreenMail(ServerSetupTest.SMTP);
+        smtpServer.start();
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(smtpServer.getSmtp().getBindTo());
+        mailSender.setPort(smtpServer.getSmtp().getPort());
+
+        dispatcher = new EmailDispatcher(mailSender, new SimpleMeterRegistry(), Integer.MAX_VALUE);
+
+        batch = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom("noreply@example.com");
+            message.setTo("user" + i + "@example.com");
+            message.setSubject("Email Verification - Task Management App");
+            message.setText("Your verification code is: 123456");
+            batch.add(message);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        smtpServer.stop();
+    }
+
+    @Benchmark
+    public void sessionPerMessage() {
+        for (SimpleMailMessage message : batch) {
+            mailSender.send(message);
+        }
+    }
+
+    @Benchmark
+    public Map<Object, Exception> batchedSession() {
+        return dispatcher.sendBatch(batch);
+    }
+}
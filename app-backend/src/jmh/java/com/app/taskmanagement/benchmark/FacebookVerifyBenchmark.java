@@ -0,0 +1,123 @@
+package com.app.taskmanagement.benchmark;
+
+import com.app.taskmanagement.dto.response.OAuth2UserInfo;
+import com.app.taskmanagement.security.FacebookTokenVerifier;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Facebook token verification against a local stand-in Graph server that answers
+ * {@code /debug_token} and {@code /me} after a fixed latency: the previous sequential
+ * blocking calls, the concurrent verifier on a cache miss, and a cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FacebookVerifyBenchmark {
+
+    private static final String APP_ID = "1234567890";
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+            new ParameterizedTypeReference<>() {};
+
+    @Param({"20"})
+    private long graphLatencyMillis;
+
+    private HttpServer graphServer;
+    private ExecutorService graphExecutor;
+    private String graphUrl;
+    private WebClient webClient;
+    private FacebookTokenVerifier verifier;
+    private final AtomicLong tokenSequence = new AtomicLong();
+
+    @Setup
+    public void setUp() throws IOException {
+        graphExecutor = Executors.newFixedThreadPool(16);
+        graphServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        graphServer.setExecutor(graphExecutor);
+        graphServer.createContext("/debug_token", exchange -> respond(exchange,
+                "{\"data\":{\"is_valid\":true,\"app_id\":\"" + APP_ID + "\",\"user_id\":\"10001\","
+                        + "\"expires_at\":" + (System.currentTimeMillis() / 1000 + 3600) + "}}"));
+        graphServer.createContext("/me", exchange -> respond(exchange,
+                "{\"id\":\"10001\",\"name\":\"Bench User\",\"email\":\"bench.user@example.com\"}"));
+        graphServer.start();
+
+        graphUrl = "http://127.0.0.1:" + graphServer.getAddress().getPort();
+        webClient = WebClient.builder().build();
+        verifier = new FacebookTokenVerifier(new SimpleMeterRegistry(), APP_ID, "secret", graphUrl,
+                1000, 2000, 50, 30, 10_000, 3600);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphServer.stop(0);
+        graphExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public Map<String, Object> sequentialBlockingCalls() {
+        String token = "token-" + tokenSequence.incrementAndGet();
+        Map<String, Object> debug = webClient.get()
+                .uri(graphUrl + "/debug_token?input_token=" + token + "&access_token=" + APP_ID + "|secret")
+                .retrieve()
+                .bodyToMono(JSON_OBJECT)
+                .block();
+        Map<String, Object> me = webClient.get()
+                .uri(graphUrl + "/me?fields=id,name,email&access_token=" + token)
+                .retrieve()
+                .bodyToMono(JSON_OBJECT)
+                .block();
+        return debug != null && me != null ? me : Map.of();
+    }
+
+    @Benchmark
+    public OAuth2UserInfo concurrentVerifyCacheMiss() {
+        return verifier.verify("token-" + tokenSequence.incrementAndGet()).block();
+    }
+
+    @Benchmark
+    public OAuth2UserInfo verifyCacheHit() {
+        return verifier.verify("token-cached").block();
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        try {
+            Thread.sleep(graphLatencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.app.taskmanagement.benchmark;
+
+import com.app.taskmanagement.config.JwtSigningProperties;
+import com.app.taskmanagement.model.User;
+import com.app.taskmanagement.security.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    @Param({"HMAC", "ES256", "EDDSA"})
+    private JwtSigningProperties.Algorithm algorithm;
+
+    private User user;
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user();
+        uncached = BenchmarkFixtures.jwtUtil(algorithm, 0);
+        cached = BenchmarkFixtures.jwtUtil(algorithm, 10_000);
+        token = uncached.generateAccessToken(user);
+        cached.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return uncached.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        return uncached.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cached.validateToken(token);
+    }
+}
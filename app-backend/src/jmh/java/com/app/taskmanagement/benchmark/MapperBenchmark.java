@@ -0,0 +1,52 @@
+package com.app.taskmanagement.benchmark;
+
+import com.app.taskmanagement.dto.response.AuthResponse;
+import com.app.taskmanagement.dto.response.UserDto;
+import com.app.taskmanagement.mapper.AuthMapper;
+import com.app.taskmanagement.mapper.AuthMapperImpl;
+import com.app.taskmanagement.mapper.UserMapper;
+import com.app.taskmanagement.mapper.UserMapperImpl;
+import com.app.taskmanagement.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final UserMapper userMapper = new UserMapperImpl();
+    private final AuthMapper authMapper = new AuthMapperImpl();
+
+    private User user;
+    private UserDto userDto;
+
+    @Setup
+    public void setUp() {
+        user = BenchmarkFixtures.user();
+        userDto = userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public UserDto userToDto() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public AuthResponse toAuthResponse() {
+        return authMapper.toAuthResponse("access-token", BenchmarkFixtures.ACCESS_TOKEN_EXPIRATION, userDto);
+    }
+}
@@ -0,0 +1,69 @@
+package com.app.taskmanagement.benchmark;
+
+import com.app.taskmanagement.config.RedisConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    private RedisSerializer<Object> serializer;
+    private Map<String, Object> tokenData;
+    private Map<String, byte[]> encodedTokenData;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setUp() {
+        // The template is never connected; only its configured hash value serializer is used
+        serializer = (RedisSerializer<Object>) new RedisConfig()
+                .redisTemplate(new LettuceConnectionFactory())
+                .getHashValueSerializer();
+
+        tokenData = new HashMap<>();
+        tokenData.put("userId", 42L);
+        tokenData.put("email", "bench.user@example.com");
+        tokenData.put("deviceId", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+                + "(KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36_203.0.113.17");
+        tokenData.put("createdAt", LocalDateTime.now().toString());
+
+        encodedTokenData = encode();
+    }
+
+    @Benchmark
+    public Map<String, byte[]> serializeRefreshTokenHash() {
+        return encode();
+    }
+
+    @Benchmark
+    public Map<String, Object> deserializeRefreshTokenHash() {
+        Map<String, Object> decoded = new HashMap<>();
+        encodedTokenData.forEach((field, value) -> decoded.put(field, serializer.deserialize(value)));
+        return decoded;
+    }
+
+    private Map<String, byte[]> encode() {
+        Map<String, byte[]> encoded = new HashMap<>();
+        tokenData.forEach((field, value) -> encoded.put(field, serializer.serialize(value)));
+        return encoded;
+    }
+}
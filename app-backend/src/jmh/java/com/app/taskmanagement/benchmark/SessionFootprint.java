@@ -0,0 +1,100 @@
+package com.app.taskmanagement.benchmark;
+
+import com.app.taskmanagement.config.RedisConfig;
+import com.app.taskmanagement.model.User;
+import com.app.taskmanagement.security.TokenEpochStore;
+import com.app.taskmanagement.service.RefreshTokenRedisService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures Redis memory per refresh-token session in the legacy JSON layout and the compact
+ * layout, using {@code MEMORY USAGE} on the token hash and the user's two index keys.
+ * Not a JMH benchmark; needs a disposable Redis and is run with
+ * {@code mvn -Pbenchmark test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.app.taskmanagement.benchmark.SessionFootprint -Dredis.port=6379}.
+ */
+public final class SessionFootprint {
+
+    private static final RedisScript<Long> MEMORY_USAGE =
+            RedisScript.of("return redis.call('MEMORY', 'USAGE', KEYS[1]) or 0", Long.class);
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+            + "(KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+    private static final long USER_ID_BASE = 9_000_000L;
+
+    private SessionFootprint() {}
+
+    public static void main(String[] args) {
+        int sessions = Integer.getInteger("sessions", 10_000);
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "localhost"), Integer.getInteger("redis.port", 6379)));
+        connectionFactory.afterPropertiesSet();
+
+        RedisTemplate<String, Object> redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        TokenEpochStore epochStore = new TokenEpochStore(redisTemplate, new RedisMessageListenerContainer(), 1, 1);
+
+        try {
+            double legacy = bytesPerSession(redisTemplate, stringRedisTemplate, epochStore, false, sessions);
+            double compact = bytesPerSession(redisTemplate, stringRedisTemplate, epochStore, true, sessions);
+
+            System.out.printf("sessions measured : %d per layout%n", sessions);
+            System.out.printf("legacy JSON layout: %.1f bytes/session%n", legacy);
+            System.out.printf("compact layout    : %.1f bytes/session%n", compact);
+            System.out.printf("saving            : %.1f%%%n", 100 * (legacy - compact) / legacy);
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    private static double bytesPerSession(
+            RedisTemplate<String, Object> redisTemplate,
+            StringRedisTemplate stringRedisTemplate,
+            TokenEpochStore epochStore,
+            boolean compact,
+            int sessions
+    ) {
+        RefreshTokenRedisService service = new RefreshTokenRedisService(
+                redisTemplate, stringRedisTemplate, epochStore, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "refreshTokenExpiration", 7 * 24 * 60 * 60 * 1000L);
+        ReflectionTestUtils.setField(service, "compactEncoding", compact);
+
+        User user = BenchmarkFixtures.user();
+        List<String> keys = new ArrayList<>(sessions * 3);
+        for (int i = 0; i < sessions; i++) {
+            user.setId(USER_ID_BASE + i);
+
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader("User-Agent", USER_AGENT);
+            request.setRemoteAddr("203.0.113." + (i % 250));
+
+            String token = service.createRefreshToken(user, request);
+            keys.add(RefreshTokenRedisService.refreshKey(token));
+            keys.add(RefreshTokenRedisService.sessionsKey(user.getId()));
+            keys.add(RefreshTokenRedisService.devicesKey(user.getId()));
+        }
+
+        RedisSerializer<Long> result = new GenericToStringSerializer<>(Long.class);
+        long total = 0;
+        for (String key : keys) {
+            Long bytes = redisTemplate.execute(MEMORY_USAGE, RedisSerializer.string(), result, List.of(key));
+            total += bytes != null ? bytes : 0;
+        }
+
+        redisTemplate.delete(keys);
+        return (double) total / sessions;
+    }
+}
@@ -1,10 +1,96 @@
 package com.app.taskmanagement.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
-@EnableAsync
 public class AsyncConfig {
 
-}
\ No newline at end of file
+    public static final String EMAIL_EXECUTOR = "emailExecutor";
+
+    private static final String EMAIL_THREAD_PREFIX = "email-";
+
+    /**
+     * Runs the {@link com.app.taskmanagement.service.EmailOutboxWorker} drain tasks, which
+     * are its only consumer. Not a default candidate, so Boot's applicationTaskExecutor is
+     * still created for everything else.
+     */
+    @Bean(name = EMAIL_EXECUTOR, defaultCandidate = false)
+    public AsyncTaskExecutor emailExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${async.email.core-pool-size:2}") int corePoolSize,
+            @Value("${async.email.max-pool-size:8}") int maxPoolSize,
+            @Value("${async.email.queue-capacity:500}") int queueCapacity,
+            @Value("${async.email.virtual-threads:false}") boolean virtualThreads,
+            @Value("${async.email.virtual-concurrency-limit:1000}") int virtualConcurrencyLimit
+    ) {
+        AtomicInteger active = new AtomicInteger();
+        Timer latency = Timer.builder("email.executor.task")
+                .description("Time from submission to completion of an email task")
+                .register(meterRegistry);
+        Gauge.builder("email.executor.active", active, AtomicInteger::get)
+                .register(meterRegistry);
+        TaskDecorator instrumented = task -> {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                    latency.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        };
+
+        if (virtualThreads) {
+            // Requires a JDK 21+ runtime; SimpleAsyncTaskExecutor fails fast on older JDKs
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(EMAIL_THREAD_PREFIX);
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(virtualConcurrencyLimit);
+            executor.setTaskDecorator(instrumented);
+            return executor;
+        }
+
+        // Always abort: EmailOutboxWorker holds a worker slot per submitted drain task and
+        // only gets it back when the task runs or execute() throws, so a silently dropped
+        // task would leak the slot
+        Counter rejected = Counter.builder("email.executor.rejected")
+                .description("Email tasks rejected because the pool and queue are full")
+                .register(meterRegistry);
+        RejectedExecutionHandler policy = new ThreadPoolExecutor.AbortPolicy();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(EMAIL_THREAD_PREFIX);
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setTaskDecorator(instrumented);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejected.increment();
+            policy.rejectedExecution(task, pool);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        Gauge.builder("email.executor.queue.size", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .register(meterRegistry);
+        Gauge.builder("email.executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .register(meterRegistry);
+        return executor;
+    }
+}
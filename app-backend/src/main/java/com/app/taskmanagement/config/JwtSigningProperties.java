@@ -0,0 +1,47 @@
+package com.app.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "jwt.signing")
+@Getter
+@Setter
+public class JwtSigningProperties {
+
+    /**
+     * HMAC keeps the legacy shared-secret tokens ({@code jwt.secret}); ES256 and EdDSA sign
+     * with the active key from {@link #keys} and publish the public keys as a JWKS.
+     */
+    private Algorithm algorithm = Algorithm.HMAC;
+
+    private String activeKeyId;
+
+    /**
+     * Accept HMAC-signed tokens (no {@code kid} header) while running in an asymmetric mode,
+     * so tokens issued before the migration stay valid until they expire.
+     */
+    private boolean acceptHmac = true;
+
+    private long jwksMaxAgeSeconds = 300;
+
+    private List<SigningKey> keys = new ArrayList<>();
+
+    public enum Algorithm {
+        HMAC, ES256, EDDSA
+    }
+
+    @Getter
+    @Setter
+    public static class SigningKey {
+        private String id;
+        private Resource privateKey;
+        private Resource publicKey;
+    }
+}
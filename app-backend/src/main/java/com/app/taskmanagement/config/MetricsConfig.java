@@ -0,0 +1,64 @@
+package com.app.taskmanagement.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Publishes the auth-stage timers as Prometheus histograms, so latency percentiles can be
+ * aggregated across nodes in queries rather than precomputed per instance. Buckets are
+ * bounded to the range these stages actually take to keep the series count per timer low.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final List<String> HISTOGRAM_PREFIXES = List.of(
+            "auth.",
+            "oauth2.",
+            "email.",
+            "http.server.requests",
+            "spring.data.repository.invocations"
+    );
+
+    @Bean
+    public MeterFilter commonTagsMeterFilter(@Value("${spring.application.name:task-management}") String application) {
+        return MeterFilter.commonTags(List.of(Tag.of("application", application)));
+    }
+
+    @Bean
+    public MeterFilter histogramMeterFilter(
+            @Value("${metrics.histogram.min-expected-ms:1}") long minExpectedMs,
+            @Value("${metrics.histogram.max-expected-ms:10000}") long maxExpectedMs
+    ) {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || !hasHistogram(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .minimumExpectedValue((double) Duration.ofMillis(minExpectedMs).toNanos())
+                        .maximumExpectedValue((double) Duration.ofMillis(maxExpectedMs).toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    private static boolean hasHistogram(String name) {
+        for (String prefix : HISTOGRAM_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
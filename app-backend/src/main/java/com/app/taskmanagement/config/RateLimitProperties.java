@@ -0,0 +1,87 @@
+package com.app.taskmanagement.config;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How often each node pushes its local consumption to Redis and pulls everyone else's.
+     * Between syncs a key can overshoot its limit by what the other nodes consumed meanwhile.
+     */
+    private long syncIntervalMs = 500;
+
+    /**
+     * Upper bound on buckets held per node, so a spray of source addresses cannot exhaust memory.
+     */
+    private long maxTrackedKeys = 100_000;
+
+    /**
+     * Largest request body read to find the account of a per-account limit; larger bodies
+     * are only limited per IP.
+     */
+    private int maxBodyBytes = 8192;
+
+    /**
+     * Limits keyed by endpoint name. Entries set in configuration are merged over these.
+     */
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>(Map.of(
+            "login", new Endpoint("/api/auth/login", new Limit(20, Duration.ofMinutes(1)), new Limit(5, Duration.ofMinutes(1))),
+            "register", new Endpoint("/api/auth/register", new Limit(5, Duration.ofMinutes(1)), new Limit(3, Duration.ofMinutes(10))),
+            "verify-email", new Endpoint("/api/auth/verify-email", new Limit(20, Duration.ofMinutes(1)), new Limit(10, Duration.ofMinutes(10))),
+            "resend-otp", new Endpoint("/api/auth/resend-otp", new Limit(5, Duration.ofMinutes(1)), new Limit(3, Duration.ofMinutes(10))),
+            "google", new Endpoint("/api/auth/google", new Limit(20, Duration.ofMinutes(1)), null),
+            "facebook", new Endpoint("/api/auth/facebook", new Limit(20, Duration.ofMinutes(1)), null),
+            "facebook-reactive", new Endpoint("/api/auth/facebook/reactive", new Limit(20, Duration.ofMinutes(1)), null)
+    ));
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Endpoint {
+        private String path;
+        private Limit perIp;
+
+        /**
+         * Keyed by the {@code email} field of the JSON body; left unset for endpoints whose
+         * account is only known after verification.
+         */
+        private Limit perAccount;
+
+        public Endpoint(String path, Limit perIp, Limit perAccount) {
+            this.path = path;
+            this.perIp = perIp;
+            this.perAccount = perAccount;
+        }
+    }
+
+    /**
+     * Token bucket holding up to {@code capacity} requests, refilled at {@code capacity} per
+     * {@code period}.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Limit {
+        private int capacity;
+        private Duration period;
+
+        public Limit(int capacity, Duration period) {
+            this.capacity = capacity;
+            this.period = period;
+        }
+    }
+}
@@ -1,26 +1,40 @@
 package com.app.taskmanagement.config;
 
+import com.app.taskmanagement.security.ConcurrencyLimitFilter;
 import com.app.taskmanagement.security.JwtAccessDeniedHandler;
 import com.app.taskmanagement.security.JwtAuthenticationEntryPoint;
 import com.app.taskmanagement.security.JwtAuthenticationFilter;
+import com.app.taskmanagement.security.RateLimitFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.StringUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -29,10 +43,60 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
     private final JwtAuthenticationEntryPoint authenticationEntryPoint;
     private final JwtAccessDeniedHandler accessDeniedHandler;
 
+    private static final String PROMETHEUS_PATH = "/actuator/prometheus";
+    private static final String SCRAPE_ROLE = "METRICS";
+
+    /**
+     * Prometheus cannot obtain a user JWT, so the scrape endpoint gets its own chain with
+     * HTTP basic against one credential from {@code management.prometheus.scrape.*}. Metrics
+     * expose per-endpoint traffic and internals, so without a credential the endpoint is
+     * closed rather than open.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain prometheusFilterChain(
+            HttpSecurity http,
+            PasswordEncoder passwordEncoder,
+            @Value("${management.prometheus.scrape.username:}") String username,
+            @Value("${management.prometheus.scrape.password:}") String password
+    ) throws Exception {
+        boolean configured = StringUtils.hasText(username) && StringUtils.hasText(password);
+
+        http
+                .securityMatcher(PROMETHEUS_PATH)
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session ->
+                        session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+                .httpBasic(Customizer.withDefaults())
+                .authorizeHttpRequests(auth -> {
+                    if (configured) {
+                        auth.anyRequest().hasRole(SCRAPE_ROLE);
+                    } else {
+                        auth.anyRequest().denyAll();
+                    }
+                });
+
+        if (configured) {
+            DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+            provider.setPasswordEncoder(passwordEncoder);
+            provider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                    .password(passwordEncoder.encode(password))
+                    .roles(SCRAPE_ROLE)
+                    .build()));
+            http.authenticationManager(new ProviderManager(provider));
+        }
+
+        return http.build();
+    }
+
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
@@ -52,13 +116,18 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/login").permitAll()
                         .requestMatchers("/api/auth/google").permitAll()
                         .requestMatchers("/api/auth/facebook").permitAll()
+                        .requestMatchers("/api/auth/facebook/reactive").permitAll()
                         .requestMatchers("/api/auth/refresh").permitAll()
                         .requestMatchers("/api/auth/logout").permitAll()  // ✅ Allow logout even with expired token
                         .requestMatchers("/api/test/hello").permitAll()
                         .requestMatchers("/api/test/health").permitAll()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(concurrencyLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -78,7 +147,17 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.algorithm:bcrypt}") String algorithm,
+            @Value("${security.password-hashing.bcrypt-strength:10}") int bcryptStrength
+    ) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("pbkdf2@SpringSecurity_v5_8", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes stored before the switch to DelegatingPasswordEncoder carry no {id} prefix
+        passwordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return passwordEncoder;
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.app.taskmanagement.config;
+
+import com.app.taskmanagement.security.ServerTimingFilter;
+import com.app.taskmanagement.utils.RequestTimings;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.lang.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Marks the stage boundaries {@link ServerTimingFilter} cannot see: the filter stage ends
+ * when a handler is reached, serialization runs from {@link SerializationTimingAdvice} to
+ * request completion, and every repository call is a DB span.
+ */
+@Configuration
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    static final String SERIALIZE_SPAN_ATTRIBUTE = ServerTimingConfig.class.getName() + ".serializeSpan";
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new StageBoundaryInterceptor());
+    }
+
+    @Bean
+    static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+                                    repositoryTimingInterceptor(repositoryInformation.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor repositoryTimingInterceptor(String repositoryName) {
+        return invocation -> {
+            RequestTimings.Span span = RequestTimings.start(RequestTimings.Stage.DB);
+            try {
+                return invocation.proceed();
+            } finally {
+                span.end(repositoryName + "." + invocation.getMethod().getName());
+            }
+        };
+    }
+
+    private static String operation(Object handler) {
+        return handler instanceof HandlerMethod handlerMethod
+                ? handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName()
+                : handler.getClass().getSimpleName();
+    }
+
+    private static final class StageBoundaryInterceptor implements HandlerInterceptor {
+
+        @Override
+        public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                 @NonNull Object handler) {
+            if (request.getAttribute(ServerTimingFilter.FILTER_SPAN_ATTRIBUTE) instanceof RequestTimings.Span span) {
+                span.end(operation(handler));
+            }
+            return true;
+        }
+
+        @Override
+        public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull Object handler, Exception ex) {
+            if (request.getAttribute(SERIALIZE_SPAN_ATTRIBUTE) instanceof RequestTimings.Span span) {
+                span.end(operation(handler));
+            }
+        }
+    }
+}
@@ -21,7 +21,23 @@ public final class ApiPath {
         public static final String LOGIN = "/login";
         public static final String GOOGLE = "/google";
         public static final String FACEBOOK = "/facebook";
+        public static final String FACEBOOK_REACTIVE = "/facebook/reactive";
         public static final String REFRESH = "/refresh";
         public static final String LOGOUT = "/logout";
+        public static final String SESSIONS = "/sessions";
+        public static final String LOGOUT_ALL = "/logout-all";
+    }
+
+    public static final class Admin {
+        public static final String BASE = "/api/admin";
+        public static final String REVOKE_SESSIONS = "/sessions/revoke";
+        public static final String REVOKE_SESSIONS_JOB = "/sessions/revoke/{jobId}";
+        public static final String IMPORT_USERS = "/users/import";
+        public static final String IMPORT_USERS_JOB = "/users/import/{jobId}";
+    }
+
+    public static final class WellKnown {
+        public static final String BASE = "/.well-known";
+        public static final String JWKS = "/jwks.json";
     }
 }
\ No newline at end of file
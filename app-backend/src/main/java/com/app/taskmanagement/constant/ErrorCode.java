@@ -16,14 +16,21 @@ public enum ErrorCode {
     USER_NOT_FOUND("AUTH_1006", "User not found", HttpStatus.NOT_FOUND),
     ACCOUNT_DISABLED("AUTH_1007", "Account is disabled", HttpStatus.FORBIDDEN),
     TOO_MANY_OTP_ATTEMPTS("AUTH_1008", "Too many OTP requests", HttpStatus.TOO_MANY_REQUESTS),
+    LOGIN_THROTTLED("AUTH_1009", "Too many failed login attempts, please try again later", HttpStatus.TOO_MANY_REQUESTS),
 
     OAUTH2_VERIFICATION_FAILED("OAUTH_2001", "Failed to verify OAuth2 token", HttpStatus.UNAUTHORIZED),
     EMAIL_REQUIRED_FOR_OAUTH("OAUTH_2002", "Email is required for this OAuth provider", HttpStatus.BAD_REQUEST),
+    OAUTH2_PROVIDER_UNAVAILABLE("OAUTH_2003", "OAuth2 provider is unavailable, please try again later", HttpStatus.SERVICE_UNAVAILABLE),
 
     VALIDATION_ERROR("VAL_3001", "Validation failed", HttpStatus.BAD_REQUEST),
 
+    JOB_NOT_FOUND("ADMIN_4001", "Job not found", HttpStatus.NOT_FOUND),
+    INVALID_IMPORT_FILE("ADMIN_4002", "Import file is malformed", HttpStatus.BAD_REQUEST),
+
     INTERNAL_ERROR("SYS_9001", "Internal server error", HttpStatus.INTERNAL_SERVER_ERROR),
-    EMAIL_SEND_FAILED("SYS_9002", "Failed to send email", HttpStatus.INTERNAL_SERVER_ERROR);
+    EMAIL_SEND_FAILED("SYS_9002", "Failed to send email", HttpStatus.INTERNAL_SERVER_ERROR),
+    SERVER_BUSY("SYS_9003", "Server is busy, please try again later", HttpStatus.SERVICE_UNAVAILABLE),
+    TOO_MANY_REQUESTS("SYS_9004", "Too many requests, please try again later", HttpStatus.TOO_MANY_REQUESTS);
 
     private final String code;
     private final String message;
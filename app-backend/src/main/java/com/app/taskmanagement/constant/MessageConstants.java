@@ -10,6 +10,7 @@ public final class MessageConstants {
     public static final String EMAIL_VERIFIED = "Email verified successfully. You can now login.";
     public static final String OTP_SENT = "Verification code sent successfully.";
     public static final String LOGOUT_SUCCESS = "Logged out successfully";
+    public static final String LOGOUT_ALL_SUCCESS = "Logged out of all devices";
 
     public static final String EMAIL_FROM_NAME = "Task Management Team";
     public static final String OTP_EMAIL_SUBJECT = "Email Verification - Task Management App";
@@ -12,6 +12,14 @@ public final class SecurityConstants {
     public static final String TOKEN_PREFIX = "Bearer ";
     public static final int TOKEN_PREFIX_LENGTH = 7;
 
+    // JWT CLAIMS
+    public static final String CLAIM_EMAIL = "email";
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_PUBLIC_ID = "pid";
+    public static final String CLAIM_FULL_NAME = "name";
+    public static final String CLAIM_EMAIL_VERIFIED = "ev";
+    public static final String CLAIM_EPOCH = "sep";
+
     // COOKIE
     public static final String REFRESH_TOKEN_COOKIE = "refreshToken";
     public static final String COOKIE_PATH = "/";
@@ -19,20 +27,30 @@ public final class SecurityConstants {
 
     // REDIS PREFIX
     public static final String REFRESH_TOKEN_PREFIX = "refresh:";
-    public static final String USER_TOKENS_PREFIX = "user_tokens:";
+    public static final String USER_TOKENS_PREFIX = "user_tokens:"; // legacy, superseded by USER_SESSIONS_PREFIX
+    public static final String USER_SESSIONS_PREFIX = "user_sessions:";
+    public static final String USER_DEVICES_PREFIX = "user_devices:";
     public static final String OTP_PREFIX = "otp:";
     public static final String OTP_ATTEMPTS_PREFIX = "otp_attempts:";
+    public static final String TOKEN_EPOCH_PREFIX = "token_epoch:";
+    public static final String RATE_LIMIT_PREFIX = "rate_limit:";
+    public static final String LOGIN_FAILURES_PREFIX = "login_failures:";
+    public static final String LOGIN_FAILURES_SEED_KEY = "login_failures:seed";
+    public static final String LOGIN_FAILURES_EXACT_PREFIX = "login_failures_exact:";
+    public static final String JOB_PREFIX = "job:";
+    public static final String SESSION_SWEEP_LOCK_KEY = "lock:session_sweep";
+
+    // REDIS CHANNEL
+    public static final String USER_INVALIDATION_CHANNEL = "user_invalidation";
+    public static final String TOKEN_EPOCH_CHANNEL = "token_epoch";
 
     // OTP CONFIG
-    public static final int MAX_OTP_ATTEMPTS = 5;
+    public static final int MAX_OTP_ATTEMPTS = 5; // OTPs issued per sliding window
+    public static final int MAX_OTP_GUESSES = 5; // wrong guesses before an OTP is burned
     public static final int OTP_RATE_LIMIT_WINDOW_MINUTES = 15;
 
-    // EXTERNAL API URL
-    public static final String FACEBOOK_BASE_URL = "https://graph.facebook.com";
-    public static final String FACEBOOK_USER_INFO_URL =
-            FACEBOOK_BASE_URL + "/me?fields=id,name,email&access_token=%s";
-    public static final String FACEBOOK_DEBUG_TOKEN_URL =
-            FACEBOOK_BASE_URL + "/debug_token?input_token=%s&access_token=%s|%s";
-
+    // DIAGNOSTICS
+    public static final String DEBUG_TIMING_HEADER = "X-Debug-Timing";
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
 
 }
@@ -8,6 +8,8 @@ public final class ValidationMessages {
 
     public static final String EMAIL_REQUIRED = "Email is required";
     public static final String EMAIL_INVALID = "Email must be valid";
+    public static final int EMAIL_MAX_LENGTH = 100;
+    public static final String EMAIL_MAX_LENGTH_MSG = "Email must be at most 100 characters";
 
     public static final String PROVIDER_ID_REQUIRED = "Provider ID is required";
     public static final String PROVIDER_REQUIRED = "Provider is required";
@@ -26,4 +28,6 @@ public final class ValidationMessages {
     public static final String OTP_LENGTH_MSG = "OTP must be 6 digits";
 
     public static final String TOKEN_REQUIRED = "Token is required";
+
+    public static final String USER_IDS_REQUIRED = "At least one user id is required";
 }
@@ -0,0 +1,64 @@
+package com.app.taskmanagement.controller;
+
+import com.app.taskmanagement.constant.ApiPath;
+import com.app.taskmanagement.dto.request.BulkRevokeRequest;
+import com.app.taskmanagement.dto.response.ApiResponse;
+import com.app.taskmanagement.dto.response.BulkImportJobDto;
+import com.app.taskmanagement.dto.response.BulkRevocationJobDto;
+import com.app.taskmanagement.service.BulkUserImportService;
+import com.app.taskmanagement.service.SessionRevocationService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping(ApiPath.Admin.BASE)
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final SessionRevocationService sessionRevocationService;
+    private final BulkUserImportService bulkUserImportService;
+
+    @PostMapping(ApiPath.Admin.REVOKE_SESSIONS)
+    public ResponseEntity<ApiResponse<BulkRevocationJobDto>> revokeSessions(
+            @Valid @RequestBody BulkRevokeRequest request) {
+        BulkRevocationJobDto job = sessionRevocationService.start(
+                request.getUserIds(),
+                Boolean.TRUE.equals(request.getDisableAccounts())
+        );
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(job));
+    }
+
+    @GetMapping(ApiPath.Admin.REVOKE_SESSIONS_JOB)
+    public ResponseEntity<ApiResponse<BulkRevocationJobDto>> revocationJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(ApiResponse.success(sessionRevocationService.getJob(jobId)));
+    }
+
+    @PostMapping(
+            value = ApiPath.Admin.IMPORT_USERS,
+            consumes = {BulkUserImportService.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE}
+    )
+    public ResponseEntity<ApiResponse<BulkImportJobDto>> importUsers(
+            @RequestParam(defaultValue = "false") boolean emailVerified,
+            HttpServletRequest request) throws IOException {
+        BulkImportJobDto job = bulkUserImportService.start(
+                request.getInputStream(),
+                MediaType.parseMediaType(request.getContentType()),
+                emailVerified
+        );
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(job));
+    }
+
+    @GetMapping(ApiPath.Admin.IMPORT_USERS_JOB)
+    public ResponseEntity<ApiResponse<BulkImportJobDto>> importJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(ApiResponse.success(bulkUserImportService.getJob(jobId)));
+    }
+}
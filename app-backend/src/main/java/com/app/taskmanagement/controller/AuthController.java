@@ -5,16 +5,22 @@ import com.app.taskmanagement.constant.MessageConstants;
 import com.app.taskmanagement.dto.request.*;
 import com.app.taskmanagement.dto.response.ApiResponse;
 import com.app.taskmanagement.dto.response.AuthResponse;
+import com.app.taskmanagement.dto.response.SessionDto;
+import com.app.taskmanagement.security.UserPrincipal;
 import com.app.taskmanagement.service.AuthService;
 import com.app.taskmanagement.service.OAuth2Service;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -93,6 +99,16 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success(authResponse));
     }
 
+    @PostMapping(ApiPath.Auth.FACEBOOK_REACTIVE)
+    public Mono<ResponseEntity<ApiResponse<AuthResponse>>> loginWithFacebookReactive(
+            @Valid @RequestBody FacebookLoginRequest request,
+            HttpServletRequest httpRequest) {
+        return oauth2Service.loginWithFacebookReactive(request.getAccessToken(), httpRequest)
+                .map(login -> ResponseEntity.ok()
+                        .header(HttpHeaders.SET_COOKIE, login.refreshCookie().toString())
+                        .body(ApiResponse.success(login.authResponse())));
+    }
+
     @PostMapping(ApiPath.Auth.REFRESH)
     public ResponseEntity<ApiResponse<AuthResponse>> refresh(
             HttpServletRequest request,
@@ -101,6 +117,14 @@ public class AuthController {
         return ResponseEntity.ok(ApiResponse.success(authResponse));
     }
 
+    @GetMapping(ApiPath.Auth.SESSIONS)
+    public ResponseEntity<ApiResponse<List<SessionDto>>> sessions(
+            @AuthenticationPrincipal UserPrincipal principal,
+            HttpServletRequest request) {
+        List<SessionDto> sessions = authService.getActiveSessions(principal.getId(), request);
+        return ResponseEntity.ok(ApiResponse.success(sessions));
+    }
+
     @PostMapping(ApiPath.Auth.LOGOUT)
     public ResponseEntity<ApiResponse<Void>> logout(
             HttpServletRequest request,
@@ -108,4 +132,12 @@ public class AuthController {
         authService.logout(request, response);
         return ResponseEntity.ok(ApiResponse.success(MessageConstants.LOGOUT_SUCCESS));
     }
+
+    @PostMapping(ApiPath.Auth.LOGOUT_ALL)
+    public ResponseEntity<ApiResponse<Void>> logoutAll(
+            @AuthenticationPrincipal UserPrincipal principal,
+            HttpServletResponse response) {
+        authService.logoutAll(principal.getId(), response);
+        return ResponseEntity.ok(ApiResponse.success(MessageConstants.LOGOUT_ALL_SUCCESS));
+    }
 }
\ No newline at end of file
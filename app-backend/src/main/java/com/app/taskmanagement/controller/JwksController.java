@@ -0,0 +1,28 @@
+package com.app.taskmanagement.controller;
+
+import com.app.taskmanagement.constant.ApiPath;
+import com.app.taskmanagement.security.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+@RestController
+@RequestMapping(ApiPath.WellKnown.BASE)
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+
+    @GetMapping(ApiPath.WellKnown.JWKS)
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(keyRing.getJwksMaxAgeSeconds())).cachePublic())
+                .body(keyRing.getJwks());
+    }
+}
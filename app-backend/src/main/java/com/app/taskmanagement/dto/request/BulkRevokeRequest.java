@@ -0,0 +1,23 @@
+package com.app.taskmanagement.dto.request;
+
+import com.app.taskmanagement.constant.ValidationMessages;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRevokeRequest {
+
+    @NotEmpty(message = ValidationMessages.USER_IDS_REQUIRED)
+    private List<Long> userIds;
+
+    @Builder.Default
+    private Boolean disableAccounts = false;
+}
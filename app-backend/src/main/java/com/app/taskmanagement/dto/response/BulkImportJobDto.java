@@ -0,0 +1,22 @@
+package com.app.taskmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Bulk User Import Progress
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportJobDto {
+    private String jobId;
+    private String status;
+    private BulkImportResultDto result;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,30 @@
+package com.app.taskmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Bulk User Import Outcome
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDto {
+    private Integer totalRows;
+    private Integer created;
+    private Integer failed;
+    private List<RowError> errors;
+    private Boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private Integer line;
+        private String email;
+        private String message;
+    }
+}
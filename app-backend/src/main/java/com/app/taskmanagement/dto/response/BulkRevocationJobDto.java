@@ -0,0 +1,25 @@
+package com.app.taskmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Bulk Revocation Progress
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRevocationJobDto {
+    private String jobId;
+    private String status;
+    private Integer totalUsers;
+    private Integer processedUsers;
+    private Long revokedSessions;
+    private Integer disabledAccounts;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
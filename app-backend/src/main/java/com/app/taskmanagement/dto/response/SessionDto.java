@@ -0,0 +1,20 @@
+package com.app.taskmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Active Session
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionDto {
+    private String deviceId;
+    private String deviceName;
+    private LocalDateTime createdAt;
+    private Boolean current;
+}
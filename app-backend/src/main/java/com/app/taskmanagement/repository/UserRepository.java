@@ -2,14 +2,17 @@ package com.app.taskmanagement.repository;
 
 import com.app.taskmanagement.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     Optional<User> findByEmail(String email);
 
@@ -23,6 +26,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
+    @Modifying
+    @Query("UPDATE User u SET u.isActive = false WHERE u.id IN :ids AND u.isActive = true")
+    int deactivateAll(@Param("ids") Collection<Long> ids);
+
+    // Called with the new hash already computed, outside any other transaction
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :hash WHERE u.id = :id")
+    int updatePasswordHash(@Param("id") Long id, @Param("hash") String hash);
+
     @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u " +
             "WHERE u.email = :email AND u.authProvider = :provider")
     boolean existsByEmailAndProvider(
@@ -0,0 +1,22 @@
+package com.app.taskmanagement.repository;
+
+import com.app.taskmanagement.dto.response.OAuth2UserInfo;
+import com.app.taskmanagement.model.User;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Finds the user by provider identity, otherwise links the account with the same email
+     * (when {@code allowLinking}), otherwise creates it, in a single statement. Returns
+     * {@code null} when nothing matched and the insert hit an existing email, either because
+     * linking is disabled or because a concurrent login inserted it first.
+     */
+    OAuth2Upsert upsertOAuth2User(OAuth2UserInfo userInfo, User.AuthProvider provider, boolean allowLinking);
+
+    record OAuth2Upsert(User user, Outcome outcome) {
+    }
+
+    enum Outcome {
+        EXISTING, LINKED, CREATED
+    }
+}
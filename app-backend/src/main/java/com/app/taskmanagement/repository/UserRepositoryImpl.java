@@ -0,0 +1,73 @@
+package com.app.taskmanagement.repository;
+
+import com.app.taskmanagement.dto.response.OAuth2UserInfo;
+import com.app.taskmanagement.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    // Data-modifying CTEs share one snapshot, so each branch only runs if the previous
+    // ones returned nothing; ON CONFLICT covers an email inserted by a concurrent login.
+    // A returning user is only read: last_login_at goes through LastLoginRecorder.
+    private static final String UPSERT_OAUTH2_USER = """
+            WITH by_provider AS (
+                SELECT *, 'EXISTING' AS outcome FROM users
+                WHERE auth_provider = :provider AND provider_id = :providerId
+            ), by_email AS (
+                UPDATE users SET auth_provider = :provider, provider_id = :providerId,
+                    email_verified = :emailVerified, last_login_at = :now, updated_at = :now
+                WHERE email = :email AND :allowLinking
+                    AND NOT EXISTS (SELECT 1 FROM by_provider)
+                RETURNING *, 'LINKED' AS outcome
+            ), inserted AS (
+                INSERT INTO users (public_id, email, full_name, role, auth_provider, provider_id,
+                    email_verified, is_active, mfa_enabled, last_login_at, created_at, updated_at)
+                SELECT :publicId, :email, :fullName, 'USER', :provider, :providerId,
+                    :emailVerified, true, false, :now, :now, :now
+                WHERE NOT EXISTS (SELECT 1 FROM by_provider)
+                    AND NOT EXISTS (SELECT 1 FROM by_email)
+                ON CONFLICT (email) DO NOTHING
+                RETURNING *, 'CREATED' AS outcome
+            )
+            SELECT * FROM by_provider
+            UNION ALL SELECT * FROM by_email
+            UNION ALL SELECT * FROM inserted
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public OAuth2Upsert upsertOAuth2User(OAuth2UserInfo userInfo, User.AuthProvider provider, boolean allowLinking) {
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(UPSERT_OAUTH2_USER)
+                .unwrap(NativeQuery.class)
+                .addEntity("u", User.class)
+                .addScalar("outcome", StandardBasicTypes.STRING);
+
+        List<Object[]> rows = query
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("provider", provider.name())
+                .setParameter("providerId", userInfo.getProviderId())
+                .setParameter("email", userInfo.getEmail())
+                .setParameter("fullName", userInfo.getFullName())
+                .setParameter("emailVerified", Boolean.TRUE.equals(userInfo.getEmailVerified()))
+                .setParameter("allowLinking", allowLinking)
+                .setParameter("publicId", UUID.randomUUID().toString())
+                .getResultList();
+
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        Object[] row = rows.get(0);
+        return new OAuth2Upsert((User) row[0], Outcome.valueOf((String) row[1]));
+    }
+}
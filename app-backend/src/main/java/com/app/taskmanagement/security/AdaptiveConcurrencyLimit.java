@@ -0,0 +1,129 @@
+package com.app.taskmanagement.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Learns how many requests the node can have in flight from observed latency, in the style
+ * of a gradient limit: a long-term average of request time stands for the unloaded latency,
+ * and while the short-term average stays within {@code rtt-tolerance} of it the limit grows
+ * by a small queue allowance; once it exceeds that the limit is pulled down by the ratio.
+ * Each {@link Priority} may only use its share of the limit, so sheddable traffic is
+ * refused first as the limit tightens.
+ */
+@Component
+public class AdaptiveConcurrencyLimit {
+
+    public enum Priority {
+        CRITICAL, NORMAL, SHEDDABLE
+    }
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final double shortWindowDecay;
+    private final double longWindowDecay;
+    private final double normalShare;
+    private final double sheddableShare;
+
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimit(
+            MeterRegistry meterRegistry,
+            @Value("${concurrency-limit.initial-limit:50}") int initialLimit,
+            @Value("${concurrency-limit.min-limit:10}") int minLimit,
+            @Value("${concurrency-limit.max-limit:400}") int maxLimit,
+            @Value("${concurrency-limit.rtt-tolerance:2.0}") double rttTolerance,
+            @Value("${concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${concurrency-limit.short-window:10}") int shortWindow,
+            @Value("${concurrency-limit.long-window:600}") int longWindow,
+            @Value("${concurrency-limit.normal-share:0.9}") double normalShare,
+            @Value("${concurrency-limit.sheddable-share:0.5}") double sheddableShare
+    ) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.shortWindowDecay = 2.0 / (shortWindow + 1);
+        this.longWindowDecay = 2.0 / (longWindow + 1);
+        this.normalShare = normalShare;
+        this.sheddableShare = sheddableShare;
+
+        Gauge.builder("http.concurrency.limit", this, AdaptiveConcurrencyLimit::getLimit)
+                .description("Learned in-flight request limit")
+                .register(meterRegistry);
+        Gauge.builder("http.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserves a slot for a request of the given priority; a successful call must be paired
+     * with {@link #release}.
+     */
+    public boolean tryAcquire(Priority priority) {
+        double allowed = limit * switch (priority) {
+            case CRITICAL -> 1.0;
+            case NORMAL -> normalShare;
+            case SHEDDABLE -> sheddableShare;
+        };
+
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long startNanos) {
+        long rttNanos = System.nanoTime() - startNanos;
+        int current = inFlight.getAndDecrement();
+        onSample(rttNanos, current);
+    }
+
+    /**
+     * Frees a slot without feeding the request's latency into the limit, for requests that
+     * are slow by design and would otherwise read as congestion.
+     */
+    public void releaseUnsampled() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtEnd) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) * shortWindowDecay;
+        longRttNanos += (rttNanos - longRttNanos) * longWindowDecay;
+
+        // A node that barely uses its limit has learned nothing about a higher one
+        if (inFlightAtEnd < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+        double queueAllowance = Math.sqrt(limit);
+        double target = limit * gradient + queueAllowance;
+        double next = limit * (1 - smoothing) + target * smoothing;
+
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
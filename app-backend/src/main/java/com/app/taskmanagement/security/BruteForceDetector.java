@@ -0,0 +1,483 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.constant.ErrorCode;
+import com.app.taskmanagement.exception.ApplicationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tracks failed logins per email and per client IP in a Count-Min sketch of fixed size, so
+ * memory stays flat however many distinct emails are tried. Counts live in time windows of
+ * {@code security.brute-force.window-minutes}; the estimate is the current window plus the
+ * previous one weighted by how much of it still overlaps, which decays old failures.
+ * <p>
+ * Past {@code free-attempts} failures a key must wait an exponentially growing delay after
+ * its last failure, and past {@code lockout-threshold} it is locked until the count decays.
+ * Nodes push their new failures into a shared sketch through {@link LoginFailureStore}
+ * every {@code sync-interval-ms} and read the merged sketch back, so a failure seen by one
+ * node throttles the key on all of them within one interval.
+ * <p>
+ * Cells are chosen with a hash keyed by a cluster-wide secret seed kept in Redis, so an
+ * attacker cannot craft emails that collide with a victim's cells.
+ * <p>
+ * The sketch is only a prefilter: a spray of distinct keys saturates its cells, so a key it
+ * puts past {@code free-attempts} is confirmed against exact per-key counts before being
+ * throttled. Those are held for at most {@code exact-max-keys} keys per node and merged
+ * through the store on the same schedule. A successful login clears its email's exact
+ * count on every node, so earlier typos do not count towards the next backoff.
+ * Caffeine's frequency-based admission keeps a hammered key tracked while a spray churns
+ * through the rest; a key first flagged by the sketch on a node is tracked from then on and
+ * has its cluster-wide count within one interval.
+ */
+@Component
+@Slf4j
+public class BruteForceDetector {
+
+    private static final int MAX_DEPTH = 8; // rows are taken four bytes at a time from one SHA-256
+    private static final String EMAIL_KEY = "e:";
+    private static final String IP_KEY = "i:";
+
+    private final LoginFailureStore store;
+    private final int depth;
+    private final int width;
+    private final long windowMillis;
+    private final Policy emailPolicy;
+    private final Policy ipPolicy;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    private final Cache<String, ExactCount> exactCounts;
+    private final AtomicReference<Window> retired = new AtomicReference<>();
+    private volatile Window window;
+    private volatile byte[] seed;
+
+    private final Counter emailThrottledCounter;
+    private final Counter ipThrottledCounter;
+    private final Counter failureCounter;
+
+    public BruteForceDetector(
+            LoginFailureStore store,
+            MeterRegistry meterRegistry,
+            @Value("${security.brute-force.sketch-depth:4}") int depth,
+            @Value("${security.brute-force.sketch-width:8192}") int width,
+            @Value("${security.brute-force.exact-max-keys:10000}") long exactMaxKeys,
+            @Value("${security.brute-force.window-minutes:15}") long windowMinutes,
+            @Value("${security.brute-force.email.free-attempts:5}") int emailFreeAttempts,
+            @Value("${security.brute-force.email.lockout-threshold:30}") int emailLockoutThreshold,
+            @Value("${security.brute-force.ip.free-attempts:20}") int ipFreeAttempts,
+            @Value("${security.brute-force.ip.lockout-threshold:200}") int ipLockoutThreshold,
+            @Value("${security.brute-force.base-delay-ms:1000}") long baseDelayMillis,
+            @Value("${security.brute-force.max-delay-ms:300000}") long maxDelayMillis
+    ) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("security.brute-force.sketch-depth must be between 1 and " + MAX_DEPTH);
+        }
+
+        this.store = store;
+        this.depth = depth;
+        this.width = width;
+        this.windowMillis = TimeUnit.MINUTES.toMillis(windowMinutes);
+        this.emailPolicy = new Policy(emailFreeAttempts, emailLockoutThreshold);
+        this.ipPolicy = new Policy(ipFreeAttempts, ipLockoutThreshold);
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+
+        this.exactCounts = Caffeine.newBuilder()
+                .maximumSize(exactMaxKeys)
+                .expireAfterAccess(Duration.ofMillis(2 * windowMillis))
+                .build();
+        this.window = new Window(System.currentTimeMillis() / windowMillis, depth * width, new int[depth * width]);
+
+        this.emailThrottledCounter = Counter.builder("auth.brute-force.throttled")
+                .tag("dimension", "email")
+                .register(meterRegistry);
+        this.ipThrottledCounter = Counter.builder("auth.brute-force.throttled")
+                .tag("dimension", "ip")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("auth.brute-force.failures")
+                .register(meterRegistry);
+        Gauge.builder("auth.brute-force.exact-keys", exactCounts, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Throws {@code LOGIN_THROTTLED} if the email or the client IP is backing off or locked.
+     * Meant to run before the user lookup and the password check.
+     */
+    public void check(String email, String clientIp) {
+        byte[] currentSeed = seed;
+        if (currentSeed == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long emailWait = waitMillis(keyOf(currentSeed, EMAIL_KEY + normalize(email)), emailPolicy, now);
+        long ipWait = waitMillis(keyOf(currentSeed, IP_KEY + clientIp), ipPolicy, now);
+
+        if (emailWait > 0 || ipWait > 0) {
+            (emailWait >= ipWait ? emailThrottledCounter : ipThrottledCounter).increment();
+            long seconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(Math.max(emailWait, ipWait) + 999));
+            throw new ApplicationException(ErrorCode.LOGIN_THROTTLED,
+                    "Too many failed login attempts, try again in " + seconds + " seconds");
+        }
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        byte[] currentSeed = seed;
+        if (currentSeed == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Window current = currentWindow(now);
+        increment(current, keyOf(currentSeed, EMAIL_KEY + normalize(email)), now);
+        increment(current, keyOf(currentSeed, IP_KEY + clientIp), now);
+        failureCounter.increment();
+    }
+
+    /**
+     * Clears the email's exact failure count here and in Redis after its password matched.
+     * The IP keeps its count: one account logging in says nothing about the other accounts
+     * tried from the same address. Skipped while the merged sketch has no failures for the
+     * email, which keeps Redis off the common login path.
+     */
+    public void recordSuccess(String email, String clientIp) {
+        byte[] currentSeed = seed;
+        if (currentSeed == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Window current = currentWindow(now);
+        Key key = keyOf(currentSeed, EMAIL_KEY + normalize(email));
+        if (sketched(current, key, now) == 0) {
+            return;
+        }
+
+        ExactCount exact = exactCounts.getIfPresent(key.field());
+        if (exact != null) {
+            exact.reset();
+        }
+        try {
+            store.clearExact(current.index, key.field());
+        } catch (Exception e) {
+            log.warn("Could not clear the login-failure count in Redis, other nodes keep it until it decays", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.brute-force.sync-interval-ms:1000}")
+    public void sync() {
+        if (seed == null && (seed = loadSeed()) == null) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Window current = currentWindow(now);
+        Window previous = retired.getAndSet(null);
+        int[] pushed = drain(current.pending);
+        int[] previousPushed = previous != null ? drain(previous.pending) : null;
+        boolean readPrevious = !current.previousSynced;
+
+        try {
+            LoginFailureStore.SketchTotals totals = store.pushSketch(current.index, pushed,
+                    previous != null ? previous.index : current.index - 1, previousPushed, readPrevious);
+            current.current = Arrays.copyOf(totals.current(), depth * width);
+            if (readPrevious) {
+                current.previous = Arrays.copyOf(totals.previous(), depth * width);
+                current.previousSynced = true;
+            }
+        } catch (Exception e) {
+            restore(current.pending, pushed);
+            if (previous != null) {
+                restore(previous.pending, previousPushed);
+                retired.compareAndSet(null, previous);
+            }
+            log.warn("Login-failure sketch sync with Redis failed, continuing on local counts", e);
+        }
+
+        syncExact(current.index, now);
+    }
+
+    private void syncExact(long windowIndex, long now) {
+        List<String> fields = new ArrayList<>();
+        List<ExactCount> counts = new ArrayList<>();
+        exactCounts.asMap().forEach((field, count) -> {
+            fields.add(field);
+            counts.add(count);
+        });
+
+        if (fields.isEmpty()) {
+            return;
+        }
+
+        int[] deltas = new int[counts.size()];
+        for (int i = 0; i < deltas.length; i++) {
+            deltas[i] = counts.get(i).drain(windowIndex);
+        }
+
+        try {
+            LoginFailureStore.ExactTotals totals = store.pushExact(windowIndex, fields, deltas);
+            for (int i = 0; i < counts.size(); i++) {
+                counts.get(i).applyTotals(windowIndex, totals.current()[i], totals.previous()[i], deltas[i], now);
+            }
+        } catch (Exception e) {
+            for (int i = 0; i < counts.size(); i++) {
+                counts.get(i).restore(deltas[i]);
+            }
+            log.warn("Exact login-failure count sync with Redis failed, continuing on local counts", e);
+        }
+    }
+
+    private long waitMillis(Key key, Policy policy, long now) {
+        Window current = currentWindow(now);
+        double sketched = sketched(current, key, now);
+        if (sketched < policy.freeAttempts()) {
+            return 0;
+        }
+
+        // Past the free attempts the sketch may be counting collisions; only exact counts throttle
+        ExactCount exact = exactCounts.get(key.field(), field -> new ExactCount(current.index));
+        double failures = Math.min(sketched, exact.estimate(current.index, overlap(now)));
+        if (failures < policy.freeAttempts()) {
+            return 0;
+        }
+        if (failures >= policy.lockoutThreshold()) {
+            return windowMillis - now % windowMillis;
+        }
+
+        int excess = (int) failures - policy.freeAttempts();
+        long delay = Math.min(maxDelayMillis, baseDelayMillis << Math.min(excess, 30));
+        return Math.max(0, exact.lastFailureAt() + delay - now);
+    }
+
+    private double sketched(Window current, Key key, long now) {
+        double overlap = overlap(now);
+        double sketched = Double.MAX_VALUE;
+        for (int cell : key.cells()) {
+            sketched = Math.min(sketched,
+                    current.current[cell] + current.pending.get(cell) + current.previous[cell] * overlap);
+        }
+        return sketched;
+    }
+
+    /**
+     * Share of the previous window that still falls inside the sliding window.
+     */
+    private double overlap(long now) {
+        return 1.0 - (double) (now % windowMillis) / windowMillis;
+    }
+
+    /**
+     * Conservative update: only the cells at the current minimum are raised, which keeps
+     * collisions from inflating other keys' estimates more than necessary.
+     */
+    private void increment(Window current, Key key, long now) {
+        int[] cells = key.cells();
+        int minimum = Integer.MAX_VALUE;
+        int[] values = new int[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            values[i] = current.current[cells[i]] + current.pending.get(cells[i]);
+            minimum = Math.min(minimum, values[i]);
+        }
+
+        for (int i = 0; i < cells.length; i++) {
+            if (values[i] == minimum) {
+                current.pending.incrementAndGet(cells[i]);
+            }
+        }
+        exactCounts.get(key.field(), field -> new ExactCount(current.index)).record(current.index, now);
+    }
+
+    private Window currentWindow(long now) {
+        Window current = window;
+        long index = now / windowMillis;
+        return current.index == index ? current : roll(index);
+    }
+
+    private synchronized Window roll(long index) {
+        Window current = window;
+        if (current.index == index) {
+            return current;
+        }
+
+        int[] previous = new int[depth * width];
+        if (current.index == index - 1) {
+            for (int cell = 0; cell < previous.length; cell++) {
+                previous[cell] = current.current[cell] + current.pending.get(cell);
+            }
+        }
+        retired.set(current);
+        window = new Window(index, depth * width, previous);
+        return window;
+    }
+
+    private Key keyOf(byte[] currentSeed, String key) {
+        byte[] hash;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(currentSeed);
+            hash = digest.digest(key.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(hash);
+        int[] cells = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            cells[row] = row * width + Math.floorMod(buffer.getInt(), width);
+        }
+        // The keyed hash also names the exact count, so no email is stored in Redis in clear
+        return new Key(cells, Base64.getEncoder().withoutPadding().encodeToString(hash));
+    }
+
+    private byte[] loadSeed() {
+        try {
+            return store.loadSeed();
+        } catch (Exception e) {
+            log.warn("Could not load the login-failure sketch seed, brute-force tracking is paused", e);
+            return null;
+        }
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int[] drain(AtomicIntegerArray pending) {
+        int[] drained = new int[pending.length()];
+        for (int cell = 0; cell < drained.length; cell++) {
+            if (pending.get(cell) != 0) {
+                drained[cell] = pending.getAndSet(cell, 0);
+            }
+        }
+        return drained;
+    }
+
+    private static void restore(AtomicIntegerArray pending, int[] deltas) {
+        for (int cell = 0; cell < deltas.length; cell++) {
+            if (deltas[cell] != 0) {
+                pending.addAndGet(cell, deltas[cell]);
+            }
+        }
+    }
+
+    private record Policy(int freeAttempts, int lockoutThreshold) {
+    }
+
+    private record Key(int[] cells, String field) {
+    }
+
+    /**
+     * Exact failures of one key: the merged count of the current window as last read back,
+     * failures not yet pushed, and the previous window's count used for decay. Unpushed
+     * failures carry over into the next window rather than being lost.
+     */
+    private static final class ExactCount {
+
+        private long window;
+        private int current;
+        private int previous;
+        private int pending;
+        private long lastFailureAt;
+
+        private ExactCount(long window) {
+            this.window = window;
+        }
+
+        synchronized void record(long windowIndex, long now) {
+            roll(windowIndex);
+            pending++;
+            lastFailureAt = Math.max(lastFailureAt, now);
+        }
+
+        synchronized double estimate(long windowIndex, double overlap) {
+            roll(windowIndex);
+            return current + pending + previous * overlap;
+        }
+
+        synchronized int drain(long windowIndex) {
+            roll(windowIndex);
+            int drained = pending;
+            pending = 0;
+            return drained;
+        }
+
+        synchronized void restore(int delta) {
+            pending += delta;
+        }
+
+        synchronized void reset() {
+            current = 0;
+            previous = 0;
+            pending = 0;
+            lastFailureAt = 0;
+        }
+
+        synchronized void applyTotals(long windowIndex, int total, int previousTotal, int delta, long now) {
+            if (windowIndex != window) {
+                return;
+            }
+            // Growth not explained by our own push came from another node just now
+            if (total > current + delta) {
+                lastFailureAt = Math.max(lastFailureAt, now);
+            }
+            current = total;
+            // Read back too, so a count cleared on another node drops out of the decay here
+            previous = previousTotal;
+        }
+
+        synchronized long lastFailureAt() {
+            return lastFailureAt;
+        }
+
+        private void roll(long windowIndex) {
+            if (windowIndex <= window) {
+                return;
+            }
+            previous = windowIndex == window + 1 ? current : 0;
+            current = 0;
+            window = windowIndex;
+        }
+    }
+
+    /**
+     * One time window: failures not yet pushed to Redis, the merged counts last read back,
+     * and the previous window's counts used for decay.
+     */
+    private static final class Window {
+
+        private final long index;
+        private final AtomicIntegerArray pending;
+        private volatile int[] current;
+        private volatile int[] previous;
+        private volatile boolean previousSynced;
+
+        private Window(long index, int cells, int[] previous) {
+            this.index = index;
+            this.pending = new AtomicIntegerArray(cells);
+            this.current = new int[cells];
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.constant.ErrorCode;
+import com.app.taskmanagement.dto.response.ApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds load with an immediate 503 once the node has as many requests in flight as
+ * {@link AdaptiveConcurrencyLimit} allows, instead of letting them queue in Tomcat. It runs
+ * in the security chain after {@link JwtAuthenticationFilter}, so authenticated requests
+ * and {@code concurrency-limit.critical-paths} get the whole limit, anonymous requests on
+ * {@code concurrency-limit.sheddable-paths} only their share, and the rest in between.
+ * <p>
+ * A request that goes async keeps its slot until the async request completes, errors or
+ * times out. Requests on {@code concurrency-limit.unsampled-paths} (admin and bulk
+ * endpoints, slow by design) hold a slot but do not feed their latency into the limit.
+ */
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final ObjectMapper objectMapper;
+    private final List<String> criticalPaths;
+    private final List<String> sheddablePaths;
+    private final List<String> excludedPaths;
+    private final List<String> unsampledPaths;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<AdaptiveConcurrencyLimit.Priority, Counter> rejectedCounters =
+            new EnumMap<>(AdaptiveConcurrencyLimit.Priority.class);
+
+    public ConcurrencyLimitFilter(
+            AdaptiveConcurrencyLimit concurrencyLimit,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${concurrency-limit.critical-paths:/api/auth/refresh}") List<String> criticalPaths,
+            @Value("${concurrency-limit.sheddable-paths:/api/test/**,/api/auth/register}") List<String> sheddablePaths,
+            @Value("${concurrency-limit.excluded-paths:/actuator/**}") List<String> excludedPaths,
+            @Value("${concurrency-limit.unsampled-paths:/api/admin/**}") List<String> unsampledPaths
+    ) {
+        this.concurrencyLimit = concurrencyLimit;
+        this.objectMapper = objectMapper;
+        this.criticalPaths = criticalPaths;
+        this.sheddablePaths = sheddablePaths;
+        this.excludedPaths = excludedPaths;
+        this.unsampledPaths = unsampledPaths;
+
+        for (AdaptiveConcurrencyLimit.Priority priority : AdaptiveConcurrencyLimit.Priority.values()) {
+            rejectedCounters.put(priority, Counter.builder("http.concurrency.rejected")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return matches(excludedPaths, path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        AdaptiveConcurrencyLimit.Priority priority = classify(request);
+
+        if (!concurrencyLimit.tryAcquire(priority)) {
+            rejectedCounters.get(priority).increment();
+            reject(response);
+            return;
+        }
+
+        Release release = new Release(!matches(unsampledPaths, path(request)), System.nanoTime());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(release);
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private AdaptiveConcurrencyLimit.Priority classify(HttpServletRequest request) {
+        String path = path(request);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null
+                && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+
+        if (authenticated || matches(criticalPaths, path)) {
+            return AdaptiveConcurrencyLimit.Priority.CRITICAL;
+        }
+        return matches(sheddablePaths, path)
+                ? AdaptiveConcurrencyLimit.Priority.SHEDDABLE
+                : AdaptiveConcurrencyLimit.Priority.NORMAL;
+    }
+
+    private boolean matches(List<String> patterns, String path) {
+        for (String pattern : patterns) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ErrorCode errorCode = ErrorCode.SERVER_BUSY;
+        response.setStatus(errorCode.getHttpStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error(errorCode.getMessage(), errorCode.getCode()));
+    }
+
+    /**
+     * Frees the slot exactly once, whichever of the completion callbacks fires first.
+     */
+    private final class Release implements AsyncListener {
+
+        private final boolean sampled;
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Release(boolean sampled, long startNanos) {
+            this.sampled = sampled;
+            this.startNanos = startNanos;
+        }
+
+        void run() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (sampled) {
+                concurrencyLimit.release(startNanos);
+            } else {
+                concurrencyLimit.releaseUnsampled();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are cleared when async is restarted; stay registered until it ends
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.constant.ErrorCode;
+import com.app.taskmanagement.dto.response.OAuth2UserInfo;
+import com.app.taskmanagement.exception.ApplicationException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Verifies Facebook access tokens against the Graph API without blocking. The
+ * {@code debug_token} and {@code /me} calls run concurrently, each with its own timeout,
+ * behind a circuit breaker that only counts provider failures (timeouts, 5xx, connection
+ * errors), not rejected tokens. Verified identities are cached by token digest until the
+ * token expires, capped at {@code oauth2.facebook.cache.max-ttl-seconds}.
+ */
+@Component
+@Slf4j
+public class FacebookTokenVerifier {
+
+    private static final String CACHE_NAME = "oauth2.facebook.identities";
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Cache<String, VerifiedIdentity> cache;
+    private final String appId;
+    private final String appAccessToken;
+    private final Duration callTimeout;
+
+    public FacebookTokenVerifier(
+            MeterRegistry meterRegistry,
+            @Value("${oauth2.facebook.app-id}") String appId,
+            @Value("${oauth2.facebook.app-secret}") String appSecret,
+            @Value("${oauth2.facebook.graph-url:https://graph.facebook.com}") String graphUrl,
+            @Value("${oauth2.facebook.connect-timeout-ms:1000}") int connectTimeoutMillis,
+            @Value("${oauth2.facebook.call-timeout-ms:2000}") long callTimeoutMillis,
+            @Value("${oauth2.facebook.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${oauth2.facebook.circuit-breaker.open-seconds:30}") long openSeconds,
+            @Value("${oauth2.facebook.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${oauth2.facebook.cache.max-ttl-seconds:3600}") long cacheMaxTtlSeconds
+    ) {
+        this.appId = appId;
+        this.appAccessToken = appId + "|" + appSecret;
+        this.callTimeout = Duration.ofMillis(callTimeoutMillis);
+
+        HttpClient httpClient = HttpClient.create()
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(callTimeout);
+        this.webClient = WebClient.builder()
+                .baseUrl(graphUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        this.circuitBreaker = CircuitBreaker.of("facebook-graph", CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(10)
+                .waitDurationInOpenState(Duration.ofSeconds(openSeconds))
+                .recordException(FacebookTokenVerifier::isProviderFailure)
+                .build());
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new UntilTokenExpiry(TimeUnit.SECONDS.toMillis(cacheMaxTtlSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Mono<OAuth2UserInfo> verify(String accessToken) {
+        String key = digest(accessToken);
+        VerifiedIdentity cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached.userInfo());
+        }
+
+        Mono<Map<String, Object>> debugToken = get(uri -> uri.path("/debug_token")
+                .queryParam("input_token", "{token}")
+                .queryParam("access_token", "{appToken}")
+                .build(accessToken, appAccessToken));
+        Mono<Map<String, Object>> me = get(uri -> uri.path("/me")
+                .queryParam("fields", "id,name,email")
+                .queryParam("access_token", "{token}")
+                .build(accessToken));
+
+        return Mono.zip(debugToken, me)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .map(responses -> toIdentity(responses.getT1(), responses.getT2()))
+                .doOnNext(identity -> cache.put(key, identity))
+                .map(VerifiedIdentity::userInfo)
+                .onErrorMap(e -> !(e instanceof ApplicationException), this::toApplicationException);
+    }
+
+    private Mono<Map<String, Object>> get(Function<UriBuilder, URI> uri) {
+        return webClient.get()
+                .uri(uri)
+                .retrieve()
+                .bodyToMono(JSON_OBJECT)
+                .timeout(callTimeout);
+    }
+
+    @SuppressWarnings("unchecked")
+    private VerifiedIdentity toIdentity(Map<String, Object> debugResponse, Map<String, Object> userInfo) {
+        if (!(debugResponse.get("data") instanceof Map<?, ?> rawData)) {
+            throw new ApplicationException(ErrorCode.OAUTH2_VERIFICATION_FAILED);
+        }
+        Map<String, Object> data = (Map<String, Object>) rawData;
+
+        String userId = (String) userInfo.get("id");
+        if (!Boolean.TRUE.equals(data.get("is_valid"))
+                || !appId.equals(String.valueOf(data.get("app_id")))
+                || userId == null
+                || !userId.equals(String.valueOf(data.get("user_id")))) {
+            throw new ApplicationException(ErrorCode.OAUTH2_VERIFICATION_FAILED);
+        }
+
+        // expires_at is in epoch seconds; 0 means the token does not expire
+        long expiresAt = data.get("expires_at") instanceof Number n ? TimeUnit.SECONDS.toMillis(n.longValue()) : 0L;
+
+        OAuth2UserInfo identity = OAuth2UserInfo.builder()
+                .providerId(userId)
+                .email((String) userInfo.get("email"))
+                .fullName((String) userInfo.get("name"))
+                .emailVerified(userInfo.get("email") != null)
+                .build();
+        return new VerifiedIdentity(identity, expiresAt);
+    }
+
+    private Throwable toApplicationException(Throwable e) {
+        if (e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+            return new ApplicationException(ErrorCode.OAUTH2_VERIFICATION_FAILED);
+        }
+        if (e instanceof CallNotPermittedException) {
+            log.warn("Facebook Graph circuit breaker is open, rejecting verification");
+        } else {
+            log.error("Facebook token verification failed", e);
+        }
+        return new ApplicationException(ErrorCode.OAUTH2_PROVIDER_UNAVAILABLE);
+    }
+
+    private static boolean isProviderFailure(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return !(e instanceof ApplicationException);
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record VerifiedIdentity(OAuth2UserInfo userInfo, long expiresAtMillis) {
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedIdentity> {
+
+        private final long maxTtlMillis;
+
+        private UntilTokenExpiry(long maxTtlMillis) {
+            this.maxTtlMillis = maxTtlMillis;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedIdentity identity, long currentTime) {
+            long ttlMillis = maxTtlMillis;
+            if (identity.expiresAtMillis() > 0) {
+                ttlMillis = Math.min(ttlMillis, identity.expiresAtMillis() - System.currentTimeMillis());
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(ttlMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedIdentity identity, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, identity, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedIdentity identity, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
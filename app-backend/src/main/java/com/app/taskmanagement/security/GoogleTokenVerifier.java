@@ -0,0 +1,87 @@
+package com.app.taskmanagement.security;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-lived Google ID-token verifier. Google's signing certificates are held by a single
+ * {@link GooglePublicKeysManager}, which honours the certs endpoint's Cache-Control max-age
+ * and refreshes under a lock, so concurrent callers that find the keys stale share one fetch.
+ * A scheduled task refreshes ahead of expiry, so in the steady state verification is purely
+ * local signature checking.
+ */
+@Component
+@Slf4j
+public class GoogleTokenVerifier {
+
+    private final GooglePublicKeysManager keysManager;
+    private final GoogleIdTokenVerifier verifier;
+    private final long refreshAheadMillis;
+
+    private final Counter refreshedCounter;
+    private final Counter refreshFailedCounter;
+
+    public GoogleTokenVerifier(
+            MeterRegistry meterRegistry,
+            @Value("${oauth2.google.client-id}") String clientId,
+            @Value("${oauth2.google.certs-url:https://www.googleapis.com/oauth2/v1/certs}") String certsUrl,
+            @Value("${oauth2.google.refresh-ahead-seconds:600}") long refreshAheadSeconds
+    ) {
+        this.keysManager = new GooglePublicKeysManager.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance())
+                .setPublicCertsEncodedUrl(certsUrl)
+                .build();
+        this.verifier = new GoogleIdTokenVerifier.Builder(keysManager)
+                .setAudience(List.of(clientId))
+                .build();
+        this.refreshAheadMillis = TimeUnit.SECONDS.toMillis(refreshAheadSeconds);
+
+        this.refreshedCounter = Counter.builder("oauth2.google.keys.refresh")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.refreshFailedCounter = Counter.builder("oauth2.google.keys.refresh")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the verified token, or {@code null} if the signature, issuer, audience or
+     * expiry check fails.
+     */
+    public GoogleIdToken verify(String idToken) throws GeneralSecurityException, IOException {
+        return verifier.verify(idToken);
+    }
+
+    @Scheduled(
+            initialDelayString = "${oauth2.google.refresh-initial-delay-ms:0}",
+            fixedDelayString = "${oauth2.google.refresh-check-ms:60000}"
+    )
+    public void refreshIfExpiring() {
+        if (keysManager.getExpirationTimeMilliseconds() - System.currentTimeMillis() > refreshAheadMillis) {
+            return;
+        }
+
+        try {
+            keysManager.refresh();
+            refreshedCounter.increment();
+            log.debug("Google signing keys refreshed, {} keys cached", keysManager.getPublicKeys().size());
+        } catch (Exception e) {
+            // Verification still refreshes on demand once the cached keys actually expire
+            refreshFailedCounter.increment();
+            log.warn("Background refresh of Google signing keys failed", e);
+        }
+    }
+}
@@ -1,8 +1,7 @@
 package com.app.taskmanagement.security;
 
 import com.app.taskmanagement.constant.SecurityConstants;
-import com.app.taskmanagement.model.User;
-import com.app.taskmanagement.repository.UserRepository;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,7 +21,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenEpochStore tokenEpochStore;
 
     @Override
     protected void doFilterInternal(
@@ -40,15 +40,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(SecurityConstants.TOKEN_PREFIX_LENGTH);
-            final String userId = jwtUtil.extractUserId(jwt);
+            final Claims claims = jwtUtil.verifyToken(jwt);
 
-            if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                User user = userRepository.findById(Long.parseLong(userId))
-                        .orElse(null);
-
-                if (user != null && jwtUtil.validateToken(jwt) && user.getIsActive()) {
-                    UserPrincipal principal = UserPrincipal.from(user);
+            if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserPrincipal principal = resolvePrincipal(claims);
 
+                if (principal != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             principal,
                             null,
@@ -65,4 +62,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private UserPrincipal resolvePrincipal(Claims claims) {
+        Long userId = Long.valueOf(claims.getSubject());
+        Long epoch = claims.get(SecurityConstants.CLAIM_EPOCH, Long.class);
+
+        if (epoch != null) {
+            return tokenEpochStore.isCurrent(userId, epoch) ? UserPrincipal.from(claims) : null;
+        }
+
+        // Tokens minted before the epoch claim existed still go through the principal cache
+        UserPrincipal principal = userPrincipalCache.get(userId);
+        return principal != null && principal.getIsActive() ? principal : null;
+    }
 }
\ No newline at end of file
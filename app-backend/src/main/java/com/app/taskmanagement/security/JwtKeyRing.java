@@ -0,0 +1,246 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.config.JwtSigningProperties;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Signing and verification keys for access tokens. In HMAC mode tokens are signed with
+ * {@code jwt.secret} and carry no {@code kid}; in ES256/EdDSA mode they are signed with
+ * the active key and every configured public key stays valid for verification, so keys
+ * can be rotated by adding a new active key and keeping the previous one public-only.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private static final int X509_EDEC_PREFIX_LENGTH = 12;
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final ECParameterSpec P256 = p256();
+
+    private final JwtSigningProperties properties;
+    private final SecretKey hmacKey;
+    private final Map<String, PublicKey> verificationKeys = new LinkedHashMap<>();
+    private final Map<String, Object> jwks;
+
+    private String activeKeyId;
+    private PrivateKey activePrivateKey;
+    private SignatureAlgorithm signatureAlgorithm;
+
+    public JwtKeyRing(JwtSigningProperties properties, @Value("${jwt.secret:}") String secret) {
+        this.properties = properties;
+        this.hmacKey = StringUtils.hasText(secret)
+                ? Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8))
+                : null;
+
+        if (properties.getAlgorithm() == JwtSigningProperties.Algorithm.HMAC) {
+            if (hmacKey == null) {
+                throw new IllegalStateException("jwt.secret is required when jwt.signing.algorithm=HMAC");
+            }
+        } else {
+            loadAsymmetricKeys();
+        }
+
+        this.jwks = Map.of("keys", buildJwks());
+    }
+
+    public JwtBuilder signWith(JwtBuilder builder) {
+        if (activePrivateKey == null) {
+            return builder.signWith(hmacKey);
+        }
+        return builder.header().keyId(activeKeyId).and()
+                .signWith(activePrivateKey, signatureAlgorithm);
+    }
+
+    public Map<String, Object> getJwks() {
+        return jwks;
+    }
+
+    public long getJwksMaxAgeSeconds() {
+        return properties.getJwksMaxAgeSeconds();
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId();
+
+        if (keyId == null) {
+            if (hmacKey != null && (activePrivateKey == null || properties.isAcceptHmac())) {
+                return hmacKey;
+            }
+            throw new JwtException("Token has no key id");
+        }
+
+        PublicKey key = verificationKeys.get(keyId);
+        if (key == null) {
+            throw new JwtException("Unknown key id: " + keyId);
+        }
+        return key;
+    }
+
+    private void loadAsymmetricKeys() {
+        signatureAlgorithm = properties.getAlgorithm() == JwtSigningProperties.Algorithm.ES256
+                ? Jwts.SIG.ES256
+                : Jwts.SIG.EdDSA;
+
+        if (properties.getKeys().isEmpty()) {
+            KeyPair keyPair = signatureAlgorithm.keyPair().build();
+            activeKeyId = UUID.randomUUID().toString();
+            activePrivateKey = keyPair.getPrivate();
+            verificationKeys.put(activeKeyId, keyPair.getPublic());
+            log.warn("No jwt.signing.keys configured; generated ephemeral {} key {}. "
+                    + "Tokens will not survive a restart or verify on other nodes.", signatureAlgorithm.getId(), activeKeyId);
+            return;
+        }
+
+        String keyFactoryAlgorithm = properties.getAlgorithm() == JwtSigningProperties.Algorithm.ES256 ? "EC" : "EdDSA";
+        activeKeyId = StringUtils.hasText(properties.getActiveKeyId())
+                ? properties.getActiveKeyId()
+                : properties.getKeys().get(0).getId();
+
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyFactoryAlgorithm);
+            for (JwtSigningProperties.SigningKey signingKey : properties.getKeys()) {
+                PublicKey publicKey = keyFactory.generatePublic(
+                        new X509EncodedKeySpec(readPem(signingKey.getPublicKey())));
+                requireSupportedCurve(signingKey.getId(), publicKey);
+                verificationKeys.put(signingKey.getId(), publicKey);
+
+                if (signingKey.getId().equals(activeKeyId)) {
+                    if (signingKey.getPrivateKey() == null) {
+                        throw new IllegalStateException("Active JWT key " + activeKeyId + " has no private key");
+                    }
+                    activePrivateKey = keyFactory.generatePrivate(
+                            new PKCS8EncodedKeySpec(readPem(signingKey.getPrivateKey())));
+                    requireSupportedCurve(activeKeyId, activePrivateKey);
+                }
+            }
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Failed to load JWT signing keys", e);
+        }
+
+        if (activePrivateKey == null) {
+            throw new IllegalStateException("Active JWT key " + activeKeyId + " is not configured");
+        }
+
+        log.info("JWT signing with {} key {} ({} verification keys)",
+                signatureAlgorithm.getId(), activeKeyId, verificationKeys.size());
+    }
+
+    /**
+     * ES256 is only defined on P-256; a key on any other curve would sign tokens that no
+     * verifier accepts and be published with the wrong {@code crv}.
+     */
+    private static void requireSupportedCurve(String keyId, Key key) {
+        if (key instanceof ECKey ecKey && !isP256(ecKey.getParams())) {
+            throw new IllegalStateException("JWT key " + keyId + " is not on curve P-256 (secp256r1)");
+        }
+    }
+
+    private static boolean isP256(ECParameterSpec params) {
+        return params.getCurve().equals(P256.getCurve())
+                && params.getGenerator().equals(P256.getGenerator())
+                && params.getOrder().equals(P256.getOrder())
+                && params.getCofactor() == P256.getCofactor();
+    }
+
+    private static ECParameterSpec p256() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("secp256r1 not available", e);
+        }
+    }
+
+    private List<Map<String, Object>> buildJwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        verificationKeys.forEach((keyId, publicKey) -> keys.add(toJwk(keyId, publicKey)));
+        return Collections.unmodifiableList(keys);
+    }
+
+    private Map<String, Object> toJwk(String keyId, PublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        String algorithm;
+
+        // The algorithm follows from each key, so the JWKS never depends on the ring's mode
+        if (publicKey instanceof ECPublicKey ecKey) {
+            int size = (ecKey.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", BASE64_URL.encodeToString(toUnsigned(ecKey.getW().getAffineX(), size)));
+            jwk.put("y", BASE64_URL.encodeToString(toUnsigned(ecKey.getW().getAffineY(), size)));
+            algorithm = Jwts.SIG.ES256.getId();
+        } else if (publicKey instanceof EdECPublicKey edKey) {
+            byte[] encoded = edKey.getEncoded();
+            jwk.put("kty", "OKP");
+            jwk.put("crv", edKey.getParams().getName());
+            jwk.put("x", BASE64_URL.encodeToString(
+                    Arrays.copyOfRange(encoded, X509_EDEC_PREFIX_LENGTH, encoded.length)));
+            algorithm = Jwts.SIG.EdDSA.getId();
+        } else {
+            throw new IllegalStateException("JWT key " + keyId + " has unsupported type " + publicKey.getAlgorithm());
+        }
+
+        jwk.put("kid", keyId);
+        jwk.put("alg", algorithm);
+        jwk.put("use", "sig");
+        return jwk;
+    }
+
+    private static byte[] toUnsigned(BigInteger value, int size) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length == size) {
+            return bytes;
+        }
+        byte[] result = new byte[size];
+        int length = Math.min(bytes.length, size);
+        System.arraycopy(bytes, bytes.length - length, result, size - length, length);
+        return result;
+    }
+
+    private static byte[] readPem(Resource resource) throws IOException {
+        String pem = StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.US_ASCII);
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
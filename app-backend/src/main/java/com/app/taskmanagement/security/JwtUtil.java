@@ -1,72 +1,116 @@
 package com.app.taskmanagement.security;
 
+import com.app.taskmanagement.constant.SecurityConstants;
 import com.app.taskmanagement.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenEpochStore tokenEpochStore;
+    private final JwtKeyRing keyRing;
+    private final MeterRegistry meterRegistry;
 
     @Value("${jwt.access-token-expiration}")
     private Long accessTokenExpiration;
 
+    private JwtParser parser;
+    private Timer signTimer;
+    private Timer verifyCachedTimer;
+    private Timer verifyValidTimer;
+    private Timer verifyInvalidTimer;
+
+    @PostConstruct
+    void init() {
+        parser = Jwts.parser()
+                .keyLocator(keyRing)
+                .build();
+
+        signTimer = Timer.builder("auth.jwt")
+                .tag("operation", "sign")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        verifyCachedTimer = verifyTimer("cached");
+        verifyValidTimer = verifyTimer("valid");
+        verifyInvalidTimer = verifyTimer("invalid");
+    }
+
     public String generateAccessToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("email", user.getEmail());
-        claims.put("role", user.getRole().name());
+        claims.put(SecurityConstants.CLAIM_EMAIL, user.getEmail());
+        claims.put(SecurityConstants.CLAIM_ROLE, user.getRole().name());
+        claims.put(SecurityConstants.CLAIM_PUBLIC_ID, user.getPublicId());
+        claims.put(SecurityConstants.CLAIM_FULL_NAME, user.getFullName());
+        claims.put(SecurityConstants.CLAIM_EMAIL_VERIFIED, user.getEmailVerified());
+        claims.put(SecurityConstants.CLAIM_EPOCH, tokenEpochStore.currentEpoch(user.getId()));
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .claims(claims)
                 .subject(String.valueOf(user.getId()))
                 .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + accessTokenExpiration))
-                .signWith(getSigningKey())
-                .compact();
-    }
+                .expiration(new Date(System.currentTimeMillis() + accessTokenExpiration));
 
-    public String extractUserId(String token) {
-        return extractClaims(token).getSubject();
+        return signTimer.record(() -> keyRing.signWith(builder).compact());
     }
 
-    public String extractEmail(String token) {
-        return extractClaims(token).get("email", String.class);
-    }
+    /**
+     * Verifies signature and expiry once and returns the claims, or {@code null} if the
+     * token is invalid. Verified tokens are served from {@link VerifiedTokenCache} until they expire.
+     */
+    public Claims verifyToken(String token) {
+        long start = System.nanoTime();
+        Claims cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            verifyCachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return cached;
+        }
 
-    public boolean validateToken(String token) {
         try {
-            extractClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            verifiedTokenCache.put(token, claims);
+            verifyValidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            verifyInvalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return null;
         }
     }
 
-    private Claims extractClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private Timer verifyTimer(String outcome) {
+        return Timer.builder("auth.jwt")
+                .tag("operation", "verify")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaims(token).getExpiration().before(new Date());
+    public String extractUserId(String token) {
+        Claims claims = verifyToken(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public String extractEmail(String token) {
+        Claims claims = verifyToken(token);
+        return claims != null ? claims.get(SecurityConstants.CLAIM_EMAIL, String.class) : null;
+    }
+
+    public boolean validateToken(String token) {
+        return verifyToken(token) != null;
     }
-}
\ No newline at end of file
+}
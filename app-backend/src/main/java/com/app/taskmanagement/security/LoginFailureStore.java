@@ -0,0 +1,197 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.constant.SecurityConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.BitFieldSubCommands;
+import org.springframework.data.redis.connection.BitFieldSubCommands.BitFieldIncrBy;
+import org.springframework.data.redis.connection.BitFieldSubCommands.BitFieldType;
+import org.springframework.data.redis.connection.BitFieldSubCommands.Offset;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Redis side of {@link BruteForceDetector}: the shared login-failure sketch, one string
+ * of 16-bit {@code BITFIELD} cells per time window, the exact per-key counts, one hash per
+ * window keyed by the detector's hashed key, and the hash seed. Each push adds a node's new
+ * failures and reads the merged totals back in a single pipeline. Failures are thrown to
+ * the caller, which keeps its deltas and retries on the next sync.
+ */
+@Component
+public class LoginFailureStore {
+
+    private static final BitFieldType CELL_TYPE = BitFieldType.unsigned(16);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long ttlMillis;
+    private final Timer syncTimer;
+
+    public LoginFailureStore(
+            StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${security.brute-force.window-minutes:15}") long windowMinutes
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        // A window is read back as the previous one for decay throughout the next window
+        this.ttlMillis = 2 * TimeUnit.MINUTES.toMillis(windowMinutes);
+        this.syncTimer = Timer.builder("auth.brute-force.sync")
+                .description("Time to merge the login-failure sketch with Redis")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cluster-wide seed, creating it if no node has yet.
+     */
+    public byte[] loadSeed() {
+        byte[] random = new byte[16];
+        new SecureRandom().nextBytes(random);
+        stringRedisTemplate.opsForValue().setIfAbsent(
+                SecurityConstants.LOGIN_FAILURES_SEED_KEY, Base64.getEncoder().encodeToString(random));
+        String stored = stringRedisTemplate.opsForValue().get(SecurityConstants.LOGIN_FAILURES_SEED_KEY);
+        return stored != null ? stored.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Adds {@code deltas} to the sketch of window {@code index}, and {@code retiredDeltas},
+     * if any, to the window this node rolled away from since the last push. Returns the
+     * merged cells of window {@code index}, and of the window before it when
+     * {@code readPrevious} is set.
+     */
+    public SketchTotals pushSketch(long index, int[] deltas, long retiredIndex, int[] retiredDeltas,
+                                   boolean readPrevious) {
+        byte[] currentKey = sketchKey(index);
+        byte[] previousKey = sketchKey(index - 1);
+
+        List<Object> results = syncTimer.record(() -> stringRedisTemplate.executePipelined(
+                (RedisCallback<Object>) connection -> {
+                    if (retiredDeltas != null) {
+                        incrementAll(connection, sketchKey(retiredIndex), retiredDeltas);
+                    }
+                    incrementAll(connection, currentKey, deltas);
+                    connection.keyCommands().pExpire(currentKey, ttlMillis);
+                    connection.stringCommands().get(currentKey);
+                    if (readPrevious) {
+                        connection.stringCommands().get(previousKey);
+                    }
+                    return null;
+                }, RedisSerializer.byteArray()));
+
+        int last = results.size() - 1;
+        return readPrevious
+                ? new SketchTotals(decode(results.get(last - 1)), decode(results.get(last)))
+                : new SketchTotals(decode(results.get(last)), null);
+    }
+
+    /**
+     * Adds {@code deltas} to the exact counts of {@code fields} in window {@code index} and
+     * returns their merged counts in that window and the one before it.
+     */
+    public ExactTotals pushExact(long index, List<String> fields, int[] deltas) {
+        String currentKey = exactKey(index);
+        String previousKey = exactKey(index - 1);
+        String[] names = fields.toArray(String[]::new);
+
+        List<Object> results = syncTimer.record(() -> stringRedisTemplate.executePipelined(
+                (RedisCallback<Object>) connection -> {
+                    StringRedisConnection redis = (StringRedisConnection) connection;
+                    for (int i = 0; i < names.length; i++) {
+                        if (deltas[i] > 0) {
+                            redis.hIncrBy(currentKey, names[i], deltas[i]);
+                        }
+                    }
+                    redis.pExpire(currentKey, ttlMillis);
+                    redis.hMGet(currentKey, names);
+                    redis.hMGet(previousKey, names);
+                    return null;
+                }));
+
+        int last = results.size() - 1;
+        return new ExactTotals(counts(results.get(last - 1)), counts(results.get(last)));
+    }
+
+    /**
+     * Drops the exact count of {@code field} from window {@code index} and the one before
+     * it, so every node reads it back as zero on its next push.
+     */
+    public void clearExact(long index, String field) {
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            redis.hDel(exactKey(index), field);
+            redis.hDel(exactKey(index - 1), field);
+            return null;
+        });
+    }
+
+    private static void incrementAll(RedisConnection connection, byte[] key, int[] deltas) {
+        BitFieldSubCommands commands = BitFieldSubCommands.create();
+        boolean any = false;
+        for (int cell = 0; cell < deltas.length; cell++) {
+            if (deltas[cell] > 0) {
+                commands = commands.incr(CELL_TYPE)
+                        .valueAt(Offset.offset(cell).multipliedByTypeLength())
+                        .overflow(BitFieldIncrBy.Overflow.SAT)
+                        .by(deltas[cell]);
+                any = true;
+            }
+        }
+        if (any) {
+            connection.stringCommands().bitField(key, commands);
+        }
+    }
+
+    /**
+     * Cells past the end of the string were never incremented and are left out; the caller
+     * pads to its sketch size.
+     */
+    private static int[] decode(Object value) {
+        if (!(value instanceof byte[] bytes)) {
+            return new int[0];
+        }
+        int[] cells = new int[bytes.length / 2];
+        for (int cell = 0; cell < cells.length; cell++) {
+            cells[cell] = (bytes[2 * cell] & 0xff) << 8 | bytes[2 * cell + 1] & 0xff;
+        }
+        return cells;
+    }
+
+    private static int[] counts(Object value) {
+        List<?> totals = (List<?>) value;
+        int[] counts = new int[totals.size()];
+        for (int i = 0; i < counts.length; i++) {
+            Object total = totals.get(i);
+            counts[i] = total != null ? Integer.parseInt(total.toString()) : 0;
+        }
+        return counts;
+    }
+
+    private static byte[] sketchKey(long index) {
+        return (SecurityConstants.LOGIN_FAILURES_PREFIX + index).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String exactKey(long index) {
+        return SecurityConstants.LOGIN_FAILURES_EXACT_PREFIX + index;
+    }
+
+    /**
+     * Merged sketch cells; {@code previous} is null unless it was asked for.
+     */
+    public record SketchTotals(int[] current, int[] previous) {
+    }
+
+    /**
+     * Merged exact counts, in the order of the fields pushed.
+     */
+    public record ExactTotals(int[] current, int[] previous) {
+    }
+}
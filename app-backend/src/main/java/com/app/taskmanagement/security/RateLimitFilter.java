@@ -0,0 +1,282 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.config.RateLimitProperties;
+import com.app.taskmanagement.constant.ErrorCode;
+import com.app.taskmanagement.dto.response.ApiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the per-IP and per-account limits of {@code security.rate-limit.endpoints} to the
+ * public auth endpoints. It runs ahead of {@link JwtAuthenticationFilter}, so a rejected
+ * request never reaches password hashing or a provider call. The account is the
+ * {@code email} field of the JSON body, which is buffered and replayed to the controller.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String DIMENSION_IP = "ip";
+    private static final String DIMENSION_ACCOUNT = "account";
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !HttpMethod.POST.matches(request.getMethod())
+                || findEndpoint(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Map.Entry<String, RateLimitProperties.Endpoint> endpoint = findEndpoint(request);
+        String name = endpoint.getKey();
+        RateLimitProperties.Endpoint limits = endpoint.getValue();
+
+        if (limits.getPerIp() != null) {
+            long retryAfter = rateLimiter.tryAcquire(
+                    name + ":" + DIMENSION_IP + ":" + request.getRemoteAddr(), limits.getPerIp());
+            if (retryAfter > 0) {
+                reject(response, name, DIMENSION_IP, retryAfter);
+                return;
+            }
+        }
+
+        HttpServletRequest forwarded = request;
+        if (limits.getPerAccount() != null) {
+            BufferedBodyRequest buffered = BufferedBodyRequest.wrap(request, properties.getMaxBodyBytes());
+            forwarded = buffered;
+
+            String account = buffered.isComplete() ? extractAccount(buffered.getPrefix()) : null;
+            if (account != null) {
+                long retryAfter = rateLimiter.tryAcquire(
+                        name + ":" + DIMENSION_ACCOUNT + ":" + account, limits.getPerAccount());
+                if (retryAfter > 0) {
+                    reject(response, name, DIMENSION_ACCOUNT, retryAfter);
+                    return;
+                }
+            }
+        }
+
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private Map.Entry<String, RateLimitProperties.Endpoint> findEndpoint(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, RateLimitProperties.Endpoint> entry : properties.getEndpoints().entrySet()) {
+            if (path.equals(entry.getValue().getPath())) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private String extractAccount(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            return email.isTextual() ? email.textValue().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // Left to request validation downstream
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, String endpoint, String dimension, long retryAfterMillis)
+            throws IOException {
+        meterRegistry.counter("auth.rate-limit.rejected", "endpoint", endpoint, "dimension", dimension)
+                .increment();
+
+        ErrorCode errorCode = ErrorCode.TOO_MANY_REQUESTS;
+        response.setStatus(errorCode.getHttpStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, TimeUnit.MILLISECONDS.toSeconds(retryAfterMillis + 999))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error(errorCode.getMessage(), errorCode.getCode()));
+    }
+
+    /**
+     * Replays a body whose first {@code maxBytes} were read ahead. When the body is longer,
+     * the rest is streamed from the original request after the buffered prefix.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] prefix;
+        private final boolean complete;
+        private final ReplayingInputStream body;
+
+        private BufferedBodyRequest(HttpServletRequest request, ServletInputStream original, byte[] prefix,
+                                    boolean complete) {
+            super(request);
+            this.prefix = prefix;
+            this.complete = complete;
+            this.body = new ReplayingInputStream(original, prefix, complete);
+        }
+
+        static BufferedBodyRequest wrap(HttpServletRequest request, int maxBytes) throws IOException {
+            ServletInputStream original = request.getInputStream();
+            byte[] read = original.readNBytes(maxBytes + 1);
+            boolean complete = read.length <= maxBytes;
+            return new BufferedBodyRequest(request, original, read, complete);
+        }
+
+        byte[] getPrefix() {
+            return prefix;
+        }
+
+        boolean isComplete() {
+            return complete;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return body;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(body,
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Replays the buffered prefix, then reads on from the container's stream. Once the prefix
+     * is consumed, readiness comes from the container's stream; a read listener is registered
+     * with it and gets the prefix first.
+     */
+    private static final class ReplayingInputStream extends ServletInputStream {
+
+        private final ServletInputStream original;
+        private final byte[] prefix;
+        private final boolean complete;
+        private int position;
+        private volatile boolean finished;
+
+        private ReplayingInputStream(ServletInputStream original, byte[] prefix, boolean complete) {
+            this.original = original;
+            this.prefix = prefix;
+            this.complete = complete;
+            this.finished = complete && prefix.length == 0;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (replaying()) {
+                int b = prefix[position++] & 0xff;
+                markIfDrained();
+                return b;
+            }
+            if (finished) {
+                return -1;
+            }
+            int b = original.read();
+            if (b < 0) {
+                finished = true;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (replaying()) {
+                int count = Math.min(length, prefix.length - position);
+                System.arraycopy(prefix, position, buffer, offset, count);
+                position += count;
+                markIfDrained();
+                return count;
+            }
+            if (finished) {
+                return -1;
+            }
+            int count = original.read(buffer, offset, length);
+            if (count < 0) {
+                finished = true;
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return replaying() || finished || original.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            original.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    readListener.onDataAvailable();
+                }
+
+                @Override
+                public void onAllDataRead() throws IOException {
+                    // The container's stream may already be drained into the prefix
+                    if (replaying()) {
+                        readListener.onDataAvailable();
+                    }
+                    readListener.onAllDataRead();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    readListener.onError(t);
+                }
+            });
+        }
+
+        private boolean replaying() {
+            return position < prefix.length;
+        }
+
+        // The container's stream already hit EOF while filling a complete prefix
+        private void markIfDrained() {
+            if (complete && !replaying()) {
+                finished = true;
+            }
+        }
+    }
+}
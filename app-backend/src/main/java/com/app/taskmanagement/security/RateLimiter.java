@@ -0,0 +1,197 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.config.RateLimitProperties;
+import com.app.taskmanagement.constant.SecurityConstants;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets shared across nodes without a Redis call per request. Each node decides
+ * locally from its own bucket. Every {@code security.rate-limit.sync-interval-ms} it adds
+ * its consumption since the last sync to a Redis counter per key and period window, and
+ * reads the counter of every other live bucket, in one pipeline; what the other nodes added
+ * in the meantime is taken out of the local bucket. A bucket's first sync in a window takes
+ * out everything the other nodes already consumed in it, so a node that starts seeing a key
+ * does not hand out a full bucket of its own. A key can therefore overshoot its limit by at
+ * most what the other nodes let through during one interval.
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<String, Bucket> buckets;
+
+    private final Timer syncTimer;
+    private final Counter syncFailedCounter;
+
+    public RateLimiter(
+            StringRedisTemplate stringRedisTemplate,
+            RateLimitProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        // An idle bucket refills completely within its period, so it can be dropped after that
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfter(Expiry.accessing((String key, Bucket bucket) -> bucket.period))
+                .build();
+
+        this.syncTimer = Timer.builder("auth.rate-limit.sync")
+                .description("Time to exchange rate-limit consumption with Redis")
+                .register(meterRegistry);
+        this.syncFailedCounter = Counter.builder("auth.rate-limit.sync.failed")
+                .register(meterRegistry);
+        Gauge.builder("auth.rate-limit.buckets", buckets, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes one token from the bucket for {@code key}. Returns 0 when the request may proceed,
+     * otherwise the milliseconds until a token is available.
+     */
+    public long tryAcquire(String key, RateLimitProperties.Limit limit) {
+        return buckets.get(key, k -> new Bucket(limit)).tryAcquire(System.nanoTime());
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.sync-interval-ms:500}")
+    public void sync() {
+        long nowMillis = System.currentTimeMillis();
+        List<Sync> syncs = new ArrayList<>();
+        buckets.asMap().forEach((key, bucket) -> {
+            long window = bucket.window(nowMillis);
+            syncs.add(new Sync(SecurityConstants.RATE_LIMIT_PREFIX + key + ":" + window,
+                    bucket, window, bucket.drainPending()));
+        });
+
+        if (syncs.isEmpty()) {
+            return;
+        }
+
+        List<Object> results;
+        try {
+            results = syncTimer.recordCallable(() -> stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (Sync sync : syncs) {
+                    if (sync.delta() > 0) {
+                        redis.incrBy(sync.key(), sync.delta());
+                        redis.pExpire(sync.key(), sync.bucket().counterTtlMillis());
+                    } else {
+                        // Idle here, but other nodes may still be consuming this key
+                        redis.get(sync.key());
+                    }
+                }
+                return null;
+            }));
+        } catch (Exception e) {
+            // Put the consumption back so the next sync reports it
+            syncs.forEach(sync -> sync.bucket().restorePending(sync.delta()));
+            syncFailedCounter.increment();
+            log.warn("Rate-limit sync with Redis failed, continuing on local counts", e);
+            return;
+        }
+
+        int result = 0;
+        for (Sync sync : syncs) {
+            Object total = results.get(result);
+            result += sync.delta() > 0 ? 2 : 1;
+            sync.bucket().applyTotal(parseTotal(total), sync.delta(), sync.window());
+        }
+    }
+
+    private static long parseTotal(Object total) {
+        if (total instanceof Long count) {
+            return count;
+        }
+        return total instanceof String count ? Long.parseLong(count) : 0;
+    }
+
+    private record Sync(String key, Bucket bucket, long window, long delta) {
+    }
+
+    private static final class Bucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private final Duration period;
+
+        private double tokens;
+        private long refilledAt;
+        private long pending;
+        private long lastWindow = -1;
+        private long lastTotal;
+
+        private Bucket(RateLimitProperties.Limit limit) {
+            this.capacity = limit.getCapacity();
+            this.period = limit.getPeriod();
+            this.tokensPerNano = capacity / limit.getPeriod().toNanos();
+            this.tokens = capacity;
+            this.refilledAt = System.nanoTime();
+        }
+
+        synchronized long tryAcquire(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                pending++;
+                return 0;
+            }
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis((long) Math.ceil((1 - tokens) / tokensPerNano)));
+        }
+
+        synchronized long drainPending() {
+            long drained = pending;
+            pending = 0;
+            return drained;
+        }
+
+        synchronized void restorePending(long delta) {
+            pending += delta;
+        }
+
+        /**
+         * {@code total} is the shared counter of {@code window} after adding this node's
+         * {@code delta}; anything else it grew by since the last sync in the same window, or
+         * since the window began, was consumed on other nodes.
+         */
+        synchronized void applyTotal(long total, long delta, long window) {
+            long baseline = window == lastWindow ? lastTotal : 0;
+            long remote = total - baseline - delta;
+            if (remote > 0) {
+                refill(System.nanoTime());
+                tokens = Math.max(0, tokens - remote);
+            }
+            lastWindow = window;
+            lastTotal = total;
+        }
+
+        long window(long nowMillis) {
+            return nowMillis / period.toMillis();
+        }
+
+        long counterTtlMillis() {
+            return 2 * period.toMillis();
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
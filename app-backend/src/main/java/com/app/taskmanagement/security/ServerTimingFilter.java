@@ -0,0 +1,106 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.constant.SecurityConstants;
+import com.app.taskmanagement.utils.RequestTimings;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Adds a {@code Server-Timing} header to requests that carry {@code X-Debug-Timing} with the
+ * configured {@code server-timing.debug-token}, and to a {@code server-timing.sample-rate}
+ * fraction of all others. Those responses are buffered so that serialization can be included
+ * in the header. It runs ahead of the security chain, which it reports as the filter stage.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String TIMINGS_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timings";
+    public static final String FILTER_SPAN_ATTRIBUTE = ServerTimingFilter.class.getName() + ".filterSpan";
+
+    private final byte[] debugToken;
+    private final double sampleRate;
+
+    public ServerTimingFilter(
+            @Value("${server-timing.debug-token:}") String debugToken,
+            @Value("${server-timing.sample-rate:0}") double sampleRate
+    ) {
+        // Timings expose hashing and lookup latency, so the header trigger needs a secret
+        this.debugToken = debugToken.isEmpty() ? null : debugToken.getBytes(StandardCharsets.UTF_8);
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean initialDispatch = !isAsyncDispatch(request);
+        RequestTimings timings = initialDispatch
+                ? (isTimed(request) ? new RequestTimings() : null)
+                : (RequestTimings) request.getAttribute(TIMINGS_ATTRIBUTE);
+
+        HttpServletResponse forwarded = response;
+        ContentCachingResponseWrapper buffered = null;
+        if (timings != null) {
+            request.setAttribute(TIMINGS_ATTRIBUTE, timings);
+            buffered = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+            if (buffered == null) {
+                buffered = new ContentCachingResponseWrapper(response);
+            }
+            forwarded = buffered;
+            RequestTimings.bind(timings);
+        }
+
+        // Ended by ServerTimingConfig once a handler is reached, or below if none is
+        RequestTimings.Span filterSpan = null;
+        if (initialDispatch) {
+            filterSpan = RequestTimings.start(RequestTimings.Stage.FILTER);
+            request.setAttribute(FILTER_SPAN_ATTRIBUTE, filterSpan);
+        }
+
+        try {
+            filterChain.doFilter(request, forwarded);
+        } finally {
+            if (filterSpan != null) {
+                filterSpan.end(request.getRequestURI());
+            }
+            RequestTimings.unbind();
+
+            if (buffered != null && !isAsyncStarted(request)) {
+                buffered.setHeader(SecurityConstants.SERVER_TIMING_HEADER, timings.toHeaderValue());
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private boolean isTimed(HttpServletRequest request) {
+        String requested = request.getHeader(SecurityConstants.DEBUG_TIMING_HEADER);
+        if (debugToken != null && requested != null
+                && MessageDigest.isEqual(debugToken, requested.getBytes(StandardCharsets.UTF_8))) {
+            return true;
+        }
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,187 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.constant.SecurityConstants;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-user security epoch. Access tokens carry the epoch they were minted with, and
+ * bumping it (deactivation, email verification, log out everywhere) invalidates every
+ * access token issued before. Redis holds the epoch; each node keeps an in-memory table
+ * that is updated through pub/sub and re-read from Redis after the TTL as a backstop.
+ * <p>
+ * Epochs are wall-clock millis rather than a counter: a key that was evicted or lost is
+ * re-created at the current time, which rejects every token minted before it instead of
+ * letting tokens from revoked epochs verify again.
+ */
+@Component
+@Slf4j
+public class TokenEpochStore implements MessageListener {
+
+    private static final String SEPARATOR = ":";
+    private static final RedisScript<Long> BUMP_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/bump_token_epoch.lua"), Long.class);
+    private static final RedisSerializer<Long> EPOCH_RESULT = new GenericToStringSerializer<>(Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final LoadingCache<Long, Long> epochs;
+
+    public TokenEpochStore(
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            @Value("${security.token-epoch.max-size:100000}") long maxSize,
+            @Value("${security.token-epoch.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.epochs = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build(this::loadEpoch);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(SecurityConstants.TOKEN_EPOCH_CHANNEL));
+    }
+
+    public long currentEpoch(Long userId) {
+        return epochs.get(userId);
+    }
+
+    public boolean isCurrent(Long userId, long tokenEpoch) {
+        return tokenEpoch >= currentEpoch(userId);
+    }
+
+    /**
+     * Rejects every access token the user holds, so the next request has to refresh and
+     * picks up the changed claims. Inside a transaction the bump waits for the commit: a
+     * token minted in between would otherwise carry the new epoch and the old claims.
+     */
+    public void bump(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpNow(userId);
+                }
+            });
+        } else {
+            bumpNow(userId);
+        }
+    }
+
+    private void bumpNow(Long userId) {
+        Long epoch = redisTemplate.execute(
+                BUMP_SCRIPT,
+                RedisSerializer.string(),
+                EPOCH_RESULT,
+                List.of(SecurityConstants.TOKEN_EPOCH_PREFIX + userId),
+                String.valueOf(System.currentTimeMillis())
+        );
+        long newEpoch = epoch != null ? epoch : System.currentTimeMillis();
+
+        epochs.put(userId, newEpoch);
+        broadcast(userId, newEpoch);
+
+        log.info("Token epoch bumped for user: {} -> {}", userId, newEpoch);
+    }
+
+    /**
+     * Bumps the epoch of every given user with one pipelined round trip for the increments
+     * and one for the broadcasts.
+     */
+    public void bumpAll(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+
+        byte[] script = BUMP_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[] now = String.valueOf(System.currentTimeMillis()).getBytes(StandardCharsets.UTF_8);
+        List<Object> newEpochs = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            userIds.forEach(userId -> connection.scriptingCommands().eval(script, ReturnType.INTEGER, 1,
+                    (SecurityConstants.TOKEN_EPOCH_PREFIX + userId).getBytes(StandardCharsets.UTF_8), now));
+            return null;
+        });
+
+        List<String> messages = new ArrayList<>(userIds.size());
+        for (int i = 0; i < userIds.size(); i++) {
+            long newEpoch = ((Number) newEpochs.get(i)).longValue();
+            epochs.put(userIds.get(i), newEpoch);
+            messages.add(userIds.get(i) + SEPARATOR + newEpoch);
+        }
+
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    messages.forEach(message ->
+                            operations.convertAndSend(SecurityConstants.TOKEN_EPOCH_CHANNEL, message));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to broadcast token epochs for {} users", userIds.size(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (payload == null) {
+            return;
+        }
+
+        String[] parts = payload.toString().split(SEPARATOR);
+        if (parts.length == 2) {
+            epochs.asMap().merge(Long.valueOf(parts[0]), Long.valueOf(parts[1]), Math::max);
+        }
+    }
+
+    private Long loadEpoch(Long userId) {
+        String key = SecurityConstants.TOKEN_EPOCH_PREFIX + userId;
+        Object value = redisTemplate.opsForValue().get(key);
+        if (value != null) {
+            return Long.valueOf(value.toString());
+        }
+
+        // No key means either a user who was never bumped or one whose bumps were evicted;
+        // starting at the current time is safe for both
+        long now = System.currentTimeMillis();
+        if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, now))) {
+            broadcast(userId, now);
+            return now;
+        }
+
+        Object raced = redisTemplate.opsForValue().get(key);
+        return raced != null ? Long.valueOf(raced.toString()) : now;
+    }
+
+    private void broadcast(Long userId, long epoch) {
+        try {
+            redisTemplate.convertAndSend(SecurityConstants.TOKEN_EPOCH_CHANNEL, userId + SEPARATOR + epoch);
+        } catch (Exception e) {
+            log.error("Failed to broadcast token epoch for user: {}", userId, e);
+        }
+    }
+}
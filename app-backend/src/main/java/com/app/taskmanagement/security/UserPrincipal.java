@@ -1,6 +1,8 @@
 package com.app.taskmanagement.security;
 
+import com.app.taskmanagement.constant.SecurityConstants;
 import com.app.taskmanagement.model.User;
+import io.jsonwebtoken.Claims;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
@@ -68,4 +70,21 @@ public class UserPrincipal implements UserDetails {
                 user.getIsActive()
         );
     }
+
+    /**
+     * Only for claims that passed {@link TokenEpochStore#isCurrent}: deactivation bumps the
+     * epoch, and a lost epoch key is re-created ahead of every existing token, so a token
+     * that is still current belongs to an active user.
+     */
+    public static UserPrincipal from(Claims claims) {
+        return new UserPrincipal(
+                Long.valueOf(claims.getSubject()),
+                claims.get(SecurityConstants.CLAIM_PUBLIC_ID, String.class),
+                claims.get(SecurityConstants.CLAIM_EMAIL, String.class),
+                claims.get(SecurityConstants.CLAIM_FULL_NAME, String.class),
+                User.Role.valueOf(claims.get(SecurityConstants.CLAIM_ROLE, String.class)),
+                Boolean.TRUE.equals(claims.get(SecurityConstants.CLAIM_EMAIL_VERIFIED, Boolean.class)),
+                true
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.constant.SecurityConstants;
+import com.app.taskmanagement.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Node-local cache of {@link UserPrincipal}s in front of {@code userRepository.findById}.
+ * Entries are dropped on every node when a user changes (via Redis pub/sub), and the
+ * TTL bounds staleness if an invalidation message is ever missed.
+ */
+@Component
+@Slf4j
+public class UserPrincipalCache implements MessageListener {
+
+    private static final String CACHE_NAME = "security.user-principals";
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Cache<Long, UserPrincipal> cache;
+
+    public UserPrincipalCache(
+            UserRepository userRepository,
+            RedisTemplate<String, Object> redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            MeterRegistry meterRegistry,
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.principal-cache.ttl-seconds:30}") long ttlSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        listenerContainer.addMessageListener(this, new ChannelTopic(SecurityConstants.USER_INVALIDATION_CHANNEL));
+    }
+
+    public UserPrincipal get(Long userId) {
+        return cache.get(userId, id -> userRepository.findById(id)
+                .map(UserPrincipal::from)
+                .orElse(null));
+    }
+
+    /**
+     * Drops the user's principal on every node. Inside a transaction the broadcast is
+     * deferred until commit so no node can reload the pre-commit row.
+     */
+    public void invalidate(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishInvalidation(userId);
+                }
+            });
+        } else {
+            publishInvalidation(userId);
+        }
+    }
+
+    /**
+     * Bulk variant of {@link #invalidate(Long)} that broadcasts in a single pipeline.
+     */
+    public void invalidateAll(List<Long> userIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishInvalidations(userIds);
+                }
+            });
+        } else {
+            publishInvalidations(userIds);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object payload = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (payload != null) {
+            cache.invalidate(Long.valueOf(payload.toString()));
+        }
+    }
+
+    private void publishInvalidation(Long userId) {
+        cache.invalidate(userId);
+        try {
+            redisTemplate.convertAndSend(SecurityConstants.USER_INVALIDATION_CHANNEL, userId);
+        } catch (Exception e) {
+            log.error("Failed to broadcast principal invalidation for user: {}", userId, e);
+        }
+    }
+
+    private void publishInvalidations(List<Long> userIds) {
+        cache.invalidateAll(userIds);
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    userIds.forEach(userId ->
+                            operations.convertAndSend(SecurityConstants.USER_INVALIDATION_CHANNEL, userId));
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            log.error("Failed to broadcast principal invalidation for {} users", userIds.size(), e);
+        }
+    }
+}
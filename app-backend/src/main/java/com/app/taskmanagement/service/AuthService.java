@@ -6,27 +6,33 @@ import com.app.taskmanagement.dto.request.LoginRequest;
 import com.app.taskmanagement.dto.request.RegisterRequest;
 import com.app.taskmanagement.dto.request.VerifyOtpRequest;
 import com.app.taskmanagement.dto.response.AuthResponse;
+import com.app.taskmanagement.dto.response.SessionDto;
 import com.app.taskmanagement.dto.response.UserDto;
 import com.app.taskmanagement.exception.ApplicationException;
 import com.app.taskmanagement.mapper.AuthMapper;
 import com.app.taskmanagement.mapper.UserMapper;
 import com.app.taskmanagement.model.User;
 import com.app.taskmanagement.repository.UserRepository;
+import com.app.taskmanagement.security.BruteForceDetector;
 import com.app.taskmanagement.security.JwtUtil;
+import com.app.taskmanagement.security.TokenEpochStore;
+import com.app.taskmanagement.security.UserPrincipalCache;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseCookie;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Map;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -34,18 +40,29 @@ import java.util.Map;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
     private final EmailService emailService;
     private final OtpRedisService otpRedisService;
     private final RefreshTokenRedisService refreshTokenRedisService;
     private final UserMapper userMapper;
     private final AuthMapper authMapper;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TransactionTemplate transactionTemplate;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final BruteForceDetector bruteForceDetector;
+    private final TokenEpochStore tokenEpochStore;
 
     @Value("${jwt.access-token-expiration}")
     private Long accessTokenExpiration;
 
-    @Transactional
+    /**
+     * Hashing happens before the transaction, which only covers the user insert, so the row
+     * locks and the connection are held briefly. The OTP is issued in Redis after the insert
+     * commits: a duplicate or racing registration fails on the unique email first and never
+     * overwrites the existing account's pending OTP, and a rejected OTP never rolls back the
+     * account. The outbox email is queued in its own short transaction.
+     */
     public void register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new ApplicationException(ErrorCode.EMAIL_ALREADY_EXISTS);
@@ -53,7 +70,7 @@ public class AuthService {
 
         User user = User.builder()
                 .email(request.getEmail())
-                .passwordHash(passwordEncoder.encode(request.getPassword()))
+                .passwordHash(passwordHashingService.encode(request.getPassword()))
                 .fullName(request.getFullName())
                 .role(User.Role.USER)
                 .authProvider(User.AuthProvider.LOCAL)
@@ -62,13 +79,26 @@ public class AuthService {
                 .mfaEnabled(false)
                 .build();
 
-        userRepository.save(user);
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAndFlush(user));
+        } catch (DataIntegrityViolationException e) {
+            throw new ApplicationException(ErrorCode.EMAIL_ALREADY_EXISTS);
+        }
+
         log.info("User registered: {}", user.getEmail());
 
-        sendVerificationOtp(request.getEmail());
+        try {
+            sendVerificationOtp(user.getEmail());
+        } catch (ApplicationException e) {
+            // The account exists now; the user can still ask for a new code
+            log.warn("Registration OTP not issued for {}: {}", user.getEmail(), e.getErrorCode());
+        }
     }
 
-    @Transactional
+    /**
+     * Not transactional: the OTP is issued in Redis with no connection held, and
+     * {@link EmailService#sendOtpEmail} queues the email in its own short transaction.
+     */
     public void sendVerificationOtp(String email) {
         try {
             String otp = otpRedisService.generateAndSaveOtp(email);
@@ -95,21 +125,35 @@ public class AuthService {
 
         user.setEmailVerified(true);
         userRepository.save(user);
+        userPrincipalCache.invalidate(user.getId());
+        // Access tokens carry email_verified and skip the principal cache
+        tokenEpochStore.bump(user.getId());
 
         emailService.sendWelcomeEmail(user.getEmail(), user.getFullName());
         log.info("Email verified successfully: {}", user.getEmail());
     }
 
-    @Transactional
+    /**
+     * Not transactional: only the user lookup runs in a short transaction, so no connection
+     * is held while the password check waits on the hashing pool. A rehash is written
+     * through its own short transaction and {@code last_login_at} goes through the
+     * {@link LastLoginRecorder} write-behind buffer. Throttled emails and IPs are turned
+     * away before the lookup and the password check.
+     */
     public AuthResponse login(LoginRequest request,
                               HttpServletRequest httpRequest,
                               HttpServletResponse httpResponse) {
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new ApplicationException(ErrorCode.INVALID_CREDENTIALS));
+        String clientIp = httpRequest.getRemoteAddr();
+        bruteForceDetector.check(request.getEmail(), clientIp);
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        User user = transactionTemplate.execute(status ->
+                userRepository.findByEmail(request.getEmail()).orElse(null));
+
+        if (user == null || !passwordHashingService.matches(request.getPassword(), user.getPasswordHash())) {
+            bruteForceDetector.recordFailure(request.getEmail(), clientIp);
             throw new ApplicationException(ErrorCode.INVALID_CREDENTIALS);
         }
+        bruteForceDetector.recordSuccess(request.getEmail(), clientIp);
 
         if (!user.getEmailVerified()) {
             throw new ApplicationException(ErrorCode.EMAIL_NOT_VERIFIED);
@@ -119,8 +163,11 @@ public class AuthService {
             throw new ApplicationException(ErrorCode.ACCOUNT_DISABLED);
         }
 
-        user.setLastLoginAt(LocalDateTime.now());
-        userRepository.save(user);
+        if (passwordHashingService.needsRehash(user.getPasswordHash())) {
+            upgradePasswordHash(user, request.getPassword());
+        }
+
+        lastLoginRecorder.record(user.getId(), LocalDateTime.now());
 
         String accessToken = jwtUtil.generateAccessToken(user);
         String refreshToken = refreshTokenRedisService.createRefreshToken(user, httpRequest);
@@ -133,6 +180,21 @@ public class AuthService {
         return authMapper.toAuthResponse(accessToken, accessTokenExpiration, userDto);
     }
 
+    /**
+     * Best-effort: the password has already been checked, so a busy hashing pool or a failed
+     * update only postpones the upgrade to a later login instead of failing this one.
+     */
+    private void upgradePasswordHash(User user, String rawPassword) {
+        try {
+            // Hash first so the update transaction only spans the single UPDATE
+            String upgradedHash = passwordHashingService.encode(rawPassword);
+            userRepository.updatePasswordHash(user.getId(), upgradedHash);
+            log.info("Password hash upgraded for user: {}", user.getEmail());
+        } catch (ApplicationException | DataAccessException e) {
+            log.warn("Password hash upgrade skipped for user {}: {}", user.getEmail(), e.getMessage());
+        }
+    }
+
     @Transactional
     public AuthResponse refreshAccessToken(HttpServletRequest request, HttpServletResponse response) {
         String refreshToken = extractRefreshTokenFromCookie(request);
@@ -141,41 +203,24 @@ public class AuthService {
             throw new ApplicationException(ErrorCode.INVALID_TOKEN);
         }
 
-        Map<String, Object> tokenData = refreshTokenRedisService.getRefreshTokenData(refreshToken);
-
-        if (tokenData == null) {
-            throw new ApplicationException(ErrorCode.INVALID_TOKEN);
-        }
-
-        String currentDeviceId = extractDeviceId(request);
-        String savedDeviceId = (String) tokenData.get("deviceId");
-
-        if (!currentDeviceId.equals(savedDeviceId)) {
-            refreshTokenRedisService.revokeToken(refreshToken);
-            log.warn("Device mismatch detected. Token revoked. Saved: {}, Current: {}",
-                    savedDeviceId, currentDeviceId);
-            throw new ApplicationException(ErrorCode.INVALID_TOKEN);
-        }
+        RefreshTokenRedisService.RotatedToken rotated =
+                refreshTokenRedisService.rotateRefreshToken(refreshToken, request);
 
-        Object userIdObj = tokenData.get("userId");
-        if (userIdObj == null) {
+        if (rotated == null) {
             throw new ApplicationException(ErrorCode.INVALID_TOKEN);
         }
 
-        Long userId = Long.valueOf(userIdObj.toString());
-        User user = userRepository.findById(userId)
+        User user = userRepository.findById(rotated.userId())
                 .orElseThrow(() -> new ApplicationException(ErrorCode.USER_NOT_FOUND));
 
         if (!user.getIsActive()) {
+            refreshTokenRedisService.revokeToken(rotated.token());
             throw new ApplicationException(ErrorCode.ACCOUNT_DISABLED);
         }
 
-        refreshTokenRedisService.revokeToken(refreshToken);
-
         String newAccessToken = jwtUtil.generateAccessToken(user);
-        String newRefreshToken = refreshTokenRedisService.createRefreshToken(user, request);
 
-        setRefreshTokenCookie(response, newRefreshToken);
+        setRefreshTokenCookie(response, rotated.token());
 
         UserDto userDto = userMapper.toDto(user);
         log.info("Access token refreshed for user: {}", user.getEmail());
@@ -194,6 +239,16 @@ public class AuthService {
         log.info("User logged out");
     }
 
+    public void logoutAll(Long userId, HttpServletResponse response) {
+        refreshTokenRedisService.revokeAllUserTokens(userId);
+        clearRefreshTokenCookie(response);
+        log.info("User logged out of all devices: {}", userId);
+    }
+
+    public List<SessionDto> getActiveSessions(Long userId, HttpServletRequest request) {
+        return refreshTokenRedisService.getActiveSessions(userId, extractRefreshTokenFromCookie(request));
+    }
+
     private void setRefreshTokenCookie(HttpServletResponse response, String refreshToken) {
         ResponseCookie cookie = ResponseCookie.from(SecurityConstants.REFRESH_TOKEN_COOKIE, refreshToken)
                 .httpOnly(true)
@@ -229,10 +284,4 @@ public class AuthService {
         }
         return null;
     }
-
-    private String extractDeviceId(HttpServletRequest request) {
-        String userAgent = request.getHeader("User-Agent");
-        String ipAddress = request.getRemoteAddr();
-        return (userAgent != null ? userAgent : "unknown") + "_" + (ipAddress != null ? ipAddress : "unknown");
-    }
-}
\ No newline at end of file
+}
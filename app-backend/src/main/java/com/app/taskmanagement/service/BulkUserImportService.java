@@ -0,0 +1,413 @@
+package com.app.taskmanagement.service;
+
+import com.app.taskmanagement.constant.ErrorCode;
+import com.app.taskmanagement.dto.request.BulkUserRow;
+import com.app.taskmanagement.dto.response.BulkImportJobDto;
+import com.app.taskmanagement.dto.response.BulkImportResultDto;
+import com.app.taskmanagement.exception.ApplicationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Provisions users from a CSV or NDJSON stream as a background job. The request body is
+ * spooled to a temporary file so the request returns immediately; the job then reads it
+ * line by line and only one batch of rows is held at a time: its passwords are hashed in
+ * parallel on the bulk hashing pool, then the batch is written with one JDBC batch insert.
+ * Inserting through JDBC rather than JPA keeps the IDENTITY key from disabling batching.
+ * Rows that fail validation or hit an existing email are reported by line number and do not
+ * stop the import. Progress is written to {@link JobStateStore} after every batch.
+ */
+@Service
+@Slf4j
+public class BulkUserImportService {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final String JOB_KIND = "import";
+    private static final String INSERT_USER = """
+            INSERT INTO users (public_id, email, password_hash, full_name, role, auth_provider,
+                email_verified, is_active, mfa_enabled, created_at, updated_at)
+            VALUES (?, ?, ?, ?, 'USER', 'LOCAL', ?, true, false, ?, ?)
+            ON CONFLICT (email) DO NOTHING
+            """;
+    private static final String MALFORMED_ROW = "Malformed row";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordHashingService passwordHashingService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final AsyncTaskExecutor taskExecutor;
+    private final JobStateStore jobStateStore;
+    private final Duration jobRetention;
+    private final int batchSize;
+    private final int maxErrors;
+
+    private final Timer batchTimer;
+    private final Counter createdCounter;
+    private final Counter failedCounter;
+
+    public BulkUserImportService(
+            JdbcTemplate jdbcTemplate,
+            PasswordHashingService passwordHashingService,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor taskExecutor,
+            JobStateStore jobStateStore,
+            MeterRegistry meterRegistry,
+            @Value("${security.bulk-import.batch-size:500}") int batchSize,
+            @Value("${security.bulk-import.max-errors:1000}") int maxErrors,
+            @Value("${security.bulk-import.job-retention-hours:24}") long jobRetentionHours
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordHashingService = passwordHashingService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.taskExecutor = taskExecutor;
+        this.jobStateStore = jobStateStore;
+        this.jobRetention = Duration.ofHours(jobRetentionHours);
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+
+        this.batchTimer = Timer.builder("auth.bulk-import.batch")
+                .description("Time to hash and insert one import batch")
+                .register(meterRegistry);
+        this.createdCounter = Counter.builder("auth.bulk-import.rows")
+                .tag("outcome", "created")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("auth.bulk-import.rows")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Spools the body to a temporary file and starts importing it in the background.
+     */
+    public BulkImportJobDto start(InputStream body, MediaType contentType, boolean emailVerified) throws IOException {
+        boolean csv = isCsv(contentType);
+        Path spool = Files.createTempFile("user-import-", csv ? ".csv" : ".ndjson");
+        Job job = new Job(UUID.randomUUID().toString());
+        long bytes;
+        try {
+            bytes = Files.copy(body, spool, StandardCopyOption.REPLACE_EXISTING);
+            save(job);
+            taskExecutor.execute(() -> run(job, spool, csv, emailVerified));
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(spool);
+            throw e;
+        }
+
+        log.info("Bulk import {} started ({} bytes)", job.id, bytes);
+        return job.toDto();
+    }
+
+    public BulkImportJobDto getJob(String jobId) {
+        BulkImportJobDto job = jobStateStore.find(JOB_KIND, jobId, BulkImportJobDto.class);
+        if (job == null) {
+            throw new ApplicationException(ErrorCode.JOB_NOT_FOUND);
+        }
+        return job;
+    }
+
+    /**
+     * Imports the whole stream on the calling thread.
+     */
+    public BulkImportResultDto importUsers(InputStream body, MediaType contentType, boolean emailVerified)
+            throws IOException {
+        return importUsers(body, isCsv(contentType), emailVerified, result -> {
+        });
+    }
+
+    private void run(Job job, Path spool, boolean csv, boolean emailVerified) {
+        job.status = Status.RUNNING;
+        try (InputStream body = Files.newInputStream(spool)) {
+            job.result = importUsers(body, csv, emailVerified, result -> {
+                job.result = result;
+                saveQuietly(job);
+            });
+            job.status = Status.COMPLETED;
+        } catch (Exception e) {
+            job.status = Status.FAILED;
+            job.error = e.getMessage();
+            log.error("Bulk import {} failed", job.id, e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            saveQuietly(job);
+            deleteQuietly(spool);
+        }
+    }
+
+    private void save(Job job) {
+        jobStateStore.save(JOB_KIND, job.id, job.toDto(), jobRetention);
+    }
+
+    // A missed progress write only delays what pollers see; it must not fail the job
+    private void saveQuietly(Job job) {
+        try {
+            save(job);
+        } catch (Exception e) {
+            log.warn("Failed to record progress of bulk import {}", job.id, e);
+        }
+    }
+
+    private void deleteQuietly(Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("Failed to delete import spool file {}", spool, e);
+        }
+    }
+
+    private BulkImportResultDto importUsers(InputStream body, boolean csv, boolean emailVerified,
+                                            Consumer<BulkImportResultDto> onBatch) throws IOException {
+        ImportProgress progress = new ImportProgress(maxErrors);
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        CsvColumns columns = csv ? CsvColumns.fromHeader(reader.readLine()) : null;
+        int lineNumber = csv ? 1 : 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            progress.totalRows++;
+
+            BulkUserRow row;
+            try {
+                row = csv ? columns.toRow(line) : objectMapper.readValue(line, BulkUserRow.class);
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                progress.reject(lineNumber, null, MALFORMED_ROW);
+                continue;
+            }
+
+            Set<ConstraintViolation<BulkUserRow>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                progress.reject(lineNumber, row.getEmail(), violations.iterator().next().getMessage());
+                continue;
+            }
+
+            batch.add(new PendingRow(lineNumber, row));
+            if (batch.size() == batchSize) {
+                insertBatch(batch, emailVerified, progress);
+                batch.clear();
+                onBatch.accept(progress.toResult());
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            insertBatch(batch, emailVerified, progress);
+        }
+
+        createdCounter.increment(progress.created);
+        failedCounter.increment(progress.failed);
+        log.info("Bulk import finished: {} rows, {} created, {} failed",
+                progress.totalRows, progress.created, progress.failed);
+
+        return progress.toResult();
+    }
+
+    private static boolean isCsv(MediaType contentType) {
+        return contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE));
+    }
+
+    private void insertBatch(List<PendingRow> batch, boolean emailVerified, ImportProgress progress) {
+        batchTimer.record(() -> {
+            List<String> hashes = passwordHashingService.encodeAll(
+                    batch.stream().map(pending -> pending.row().getPassword()).toList());
+
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> args = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                BulkUserRow row = batch.get(i).row();
+                args.add(new Object[]{
+                        UUID.randomUUID().toString(), row.getEmail(), hashes.get(i), row.getFullName(),
+                        emailVerified, now, now
+                });
+            }
+
+            int[] counts = jdbcTemplate.batchUpdate(INSERT_USER, args);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    PendingRow pending = batch.get(i);
+                    progress.reject(pending.lineNumber(), pending.row().getEmail(),
+                            ErrorCode.EMAIL_ALREADY_EXISTS.getMessage());
+                } else {
+                    progress.created++;
+                }
+            }
+        });
+    }
+
+    private record PendingRow(int lineNumber, BulkUserRow row) {
+    }
+
+    private static final class ImportProgress {
+
+        private final int maxErrors;
+        private final List<BulkImportResultDto.RowError> errors = new ArrayList<>();
+        private int totalRows;
+        private int created;
+        private int failed;
+
+        private ImportProgress(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void reject(int lineNumber, String email, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new BulkImportResultDto.RowError(lineNumber, email, message));
+            }
+        }
+
+        private BulkImportResultDto toResult() {
+            return BulkImportResultDto.builder()
+                    .totalRows(totalRows)
+                    .created(created)
+                    .failed(failed)
+                    .errors(List.copyOf(errors))
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
+
+    private enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private static final class Job {
+        private final String id;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile Status status = Status.PENDING;
+        private volatile BulkImportResultDto result;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(String id) {
+            this.id = id;
+        }
+
+        private BulkImportJobDto toDto() {
+            return BulkImportJobDto.builder()
+                    .jobId(id)
+                    .status(status.name())
+                    .result(result)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+
+    /**
+     * Column positions taken from the CSV header. Fields may be quoted, with {@code ""} for a
+     * literal quote; a field cannot span lines.
+     */
+    private record CsvColumns(int email, int fullName, int password) {
+
+        static CsvColumns fromHeader(String header) {
+            if (header == null) {
+                throw new ApplicationException(ErrorCode.INVALID_IMPORT_FILE);
+            }
+
+            int email = -1;
+            int fullName = -1;
+            int password = -1;
+            List<String> names = split(header);
+            for (int i = 0; i < names.size(); i++) {
+                switch (names.get(i).trim().toLowerCase(Locale.ROOT)) {
+                    case "email" -> email = i;
+                    case "fullname", "full_name" -> fullName = i;
+                    case "password" -> password = i;
+                    default -> {
+                    }
+                }
+            }
+
+            if (email < 0 || fullName < 0 || password < 0) {
+                throw new ApplicationException(ErrorCode.INVALID_IMPORT_FILE,
+                        "CSV header must contain email, fullName and password columns");
+            }
+            return new CsvColumns(email, fullName, password);
+        }
+
+        BulkUserRow toRow(String line) {
+            List<String> fields = split(line);
+            int required = Math.max(email, Math.max(fullName, password));
+            if (fields.size() <= required) {
+                throw new IllegalArgumentException("Expected at least " + (required + 1) + " fields");
+            }
+            return BulkUserRow.builder()
+                    .email(fields.get(email).trim())
+                    .fullName(fields.get(fullName).trim())
+                    .password(fields.get(password))
+                    .build();
+        }
+
+        private static List<String> split(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.app.taskmanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends mail in batches. Each batch goes through a single
+ * {@code JavaMailSender.send(SimpleMailMessage...)} call, which reuses one SMTP connection,
+ * and batches are paced to {@code email.dispatch.max-per-second} across all callers.
+ */
+@Service
+@Slf4j
+public class EmailDispatcher {
+
+    private final JavaMailSender mailSender;
+    private final long sendIntervalNanos;
+    private long nextSendAt = System.nanoTime();
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer sendTimer;
+
+    public EmailDispatcher(
+            JavaMailSender mailSender,
+            MeterRegistry meterRegistry,
+            @Value("${email.dispatch.max-per-second:10}") int maxPerSecond
+    ) {
+        this.mailSender = mailSender;
+        this.sendIntervalNanos = TimeUnit.SECONDS.toNanos(1) / maxPerSecond;
+
+        this.sentCounter = Counter.builder("email.dispatch.sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("email.dispatch.failed").register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("email.dispatch.batch.size").register(meterRegistry);
+        this.sendTimer = Timer.builder("email.dispatch.send")
+                .description("Time to hand one batch to the SMTP server")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends the messages over one SMTP session, waiting first if the batch would exceed the
+     * configured send rate. Returns the messages that failed, mapped to their cause.
+     */
+    public Map<Object, Exception> sendBatch(List<SimpleMailMessage> batch) {
+        awaitSendPermits(batch.size());
+        batchSizeSummary.record(batch.size());
+
+        long startNanos = System.nanoTime();
+        try {
+            mailSender.send(batch.toArray(new SimpleMailMessage[0]));
+            sentCounter.increment(batch.size());
+            log.info("Email batch sent: {} messages", batch.size());
+            return Map.of();
+        } catch (MailSendException e) {
+            Map<Object, Exception> failures = e.getFailedMessages().isEmpty()
+                    ? failAll(batch, e)
+                    : e.getFailedMessages();
+            sentCounter.increment(batch.size() - failures.size());
+            failedCounter.increment(failures.size());
+            log.error("Failed to send {} of {} emails in batch", failures.size(), batch.size(), e);
+            return failures;
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("Failed to send email batch of {}", batch.size(), e);
+            return failAll(batch, e);
+        } finally {
+            sendTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Map<Object, Exception> failAll(List<SimpleMailMessage> batch, Exception cause) {
+        Map<Object, Exception> failures = new HashMap<>();
+        batch.forEach(message -> failures.put(message, cause));
+        return failures;
+    }
+
+    private void awaitSendPermits(int permits) {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(nextSendAt, now);
+            nextSendAt = start + permits * sendIntervalNanos;
+            waitNanos = start - now;
+        }
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.app.taskmanagement.service;
+
+import com.app.taskmanagement.config.AsyncConfig;
+import com.app.taskmanagement.model.EmailOutbox;
+import com.app.taskmanagement.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Drains {@code email_outbox}. Each worker claims a batch with
+ * {@code FOR UPDATE SKIP LOCKED} and leases it by moving {@code next_attempt_at} to the end
+ * of {@code email.outbox.lease-seconds}, so several workers and nodes can drain the table
+ * concurrently without sending a row twice. Sending happens outside any transaction; a
+ * batch whose worker dies before settling becomes due again when its lease runs out.
+ * Failed rows are retried with exponential backoff and marked {@code DEAD} after
+ * {@code email.outbox.max-attempts}.
+ */
+@Service
+@Slf4j
+public class EmailOutboxWorker {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final String LEASE_EXPIRED_ERROR = "Lease expired before the send was settled";
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailDispatcher emailDispatcher;
+    private final Executor emailExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore workerSlots;
+
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.backoff-seconds:30}")
+    private long backoffSeconds;
+
+    @Value("${email.outbox.max-backoff-seconds:3600}")
+    private long maxBackoffSeconds;
+
+    @Value("${email.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${email.outbox.lease-seconds:300}")
+    private long leaseSeconds;
+
+    public EmailOutboxWorker(
+            EmailOutboxRepository outboxRepository,
+            EmailDispatcher emailDispatcher,
+            @Qualifier(AsyncConfig.EMAIL_EXECUTOR) Executor emailExecutor,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${email.outbox.workers:2}") int workers
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.emailDispatcher = emailDispatcher;
+        this.emailExecutor = emailExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.workerSlots = new Semaphore(workers);
+
+        this.retriedCounter = Counter.builder("email.outbox.retried").register(meterRegistry);
+        this.deadCounter = Counter.builder("email.outbox.dead").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-ms:500}")
+    public void poll() {
+        while (workerSlots.tryAcquire()) {
+            try {
+                emailExecutor.execute(() -> {
+                    try {
+                        drainBatch();
+                    } finally {
+                        workerSlots.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                workerSlots.release();
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.purge-ms:3600000}")
+    public void purgeSent() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxRepository.deleteSentBefore(EmailOutbox.Status.SENT, before));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} sent outbox emails", deleted);
+        }
+    }
+
+    /**
+     * Claims one batch in a short transaction, sends it with no transaction or row lock
+     * held, and settles it in a second short transaction. Returns the batch size, so zero
+     * means there was nothing due.
+     */
+    public int drainBatch() {
+        // Postgres keeps microseconds, so the lease must compare equal after a round trip
+        LocalDateTime leaseUntil = LocalDateTime.now().plusSeconds(leaseSeconds).truncatedTo(ChronoUnit.MICROS);
+        List<EmailOutbox> rows = transactionTemplate.execute(status -> {
+            List<EmailOutbox> claimed = new ArrayList<>();
+            for (EmailOutbox row : outboxRepository.claimBatch(LocalDateTime.now(), batchSize)) {
+                // Attempts are counted at claim time, so a batch that keeps losing its
+                // worker before settling is still dead-lettered
+                if (row.getAttempts() >= maxAttempts) {
+                    row.setStatus(EmailOutbox.Status.DEAD);
+                    row.setLastError(LEASE_EXPIRED_ERROR);
+                    deadCounter.increment();
+                    continue;
+                }
+                row.setAttempts(row.getAttempts() + 1);
+                row.setNextAttemptAt(leaseUntil);
+                claimed.add(row);
+            }
+            return claimed;
+        });
+        if (rows == null || rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<SimpleMailMessage, EmailOutbox> byMessage = new IdentityHashMap<>();
+        List<SimpleMailMessage> messages = new ArrayList<>(rows.size());
+        for (EmailOutbox row : rows) {
+            SimpleMailMessage message = toMessage(row);
+            byMessage.put(message, row);
+            messages.add(message);
+        }
+
+        Map<Object, Exception> failures = emailDispatcher.sendBatch(messages);
+
+        Map<Long, Exception> outcomes = new HashMap<>();
+        byMessage.forEach((message, row) -> outcomes.put(row.getId(), failures.get(message)));
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (EmailOutbox row : outboxRepository.findAllById(outcomes.keySet())) {
+                // A row whose lease ran out may have been claimed and sent by another worker
+                if (row.getStatus() == EmailOutbox.Status.PENDING && leaseUntil.equals(row.getNextAttemptAt())) {
+                    settle(row, outcomes.get(row.getId()), now);
+                }
+            }
+        });
+        return rows.size();
+    }
+
+    private void settle(EmailOutbox row, Exception failure, LocalDateTime now) {
+        if (failure == null) {
+            row.setStatus(EmailOutbox.Status.SENT);
+            row.setSentAt(now);
+            row.setLastError(null);
+            return;
+        }
+
+        row.setLastError(truncate(failure.getMessage()));
+        if (row.getAttempts() >= maxAttempts) {
+            row.setStatus(EmailOutbox.Status.DEAD);
+            deadCounter.increment();
+            log.error("Outbox email {} to {} dead-lettered after {} attempts",
+                    row.getId(), row.getRecipient(), row.getAttempts());
+        } else {
+            long delay = Math.min(backoffSeconds << (row.getAttempts() - 1), maxBackoffSeconds);
+            row.setNextAttemptAt(now.plus(Duration.ofSeconds(delay)));
+            retriedCounter.increment();
+        }
+    }
+
+    private SimpleMailMessage toMessage(EmailOutbox row) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(row.getRecipient());
+        message.setSubject(row.getSubject());
+        message.setText(row.getBody());
+        return message;
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -1,54 +1,53 @@
 package com.app.taskmanagement.service;
 
 import com.app.taskmanagement.constant.MessageConstants;
+import com.app.taskmanagement.model.EmailOutbox;
+import com.app.taskmanagement.repository.EmailOutboxRepository;
+import com.app.taskmanagement.utils.MetricsUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private static final String ENQUEUE_TIMER = "email.enqueue";
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    private final EmailOutboxRepository outboxRepository;
+    private final MeterRegistry meterRegistry;
 
-    @Async
+    /**
+     * Queues the OTP email in the outbox. Joins the caller's transaction, so the email is
+     * only sent if that transaction commits.
+     */
+    @Transactional
     public void sendOtpEmail(String toEmail, String otp) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject(MessageConstants.OTP_EMAIL_SUBJECT);
-            message.setText(buildOtpEmailBody(otp));
-
-            mailSender.send(message);
-            log.info("OTP email sent successfully to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("Failed to send OTP email to: {}", toEmail, e);
-        }
+        enqueue("otp", toEmail, MessageConstants.OTP_EMAIL_SUBJECT, buildOtpEmailBody(otp));
+        log.info("OTP email queued for: {}", toEmail);
     }
 
-    @Async
+    @Transactional
     public void sendWelcomeEmail(String toEmail, String fullName) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject(MessageConstants.WELCOME_EMAIL_SUBJECT);
-            message.setText(buildWelcomeEmailBody(fullName));
+        enqueue("welcome", toEmail, MessageConstants.WELCOME_EMAIL_SUBJECT, buildWelcomeEmailBody(fullName));
+        log.info("Welcome email queued for: {}", toEmail);
+    }
+
+    private void enqueue(String type, String toEmail, String subject, String body) {
+        EmailOutbox email = EmailOutbox.builder()
+                .recipient(toEmail)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
 
-            mailSender.send(message);
-            log.info("Welcome email sent successfully to: {}", toEmail);
-        } catch (Exception e) {
-            log.error("Failed to send welcome email to: {}", toEmail, e);
-        }
+        MetricsUtils.time(meterRegistry, ENQUEUE_TIMER, Tags.of("type", type), () -> outboxRepository.save(email));
     }
 
     private String buildOtpEmailBody(String otp) {
@@ -0,0 +1,46 @@
+package com.app.taskmanagement.service;
+
+import com.app.taskmanagement.constant.SecurityConstants;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Snapshots of background job progress, kept in Redis as JSON so any node can answer a
+ * status poll, including after the node running the job has restarted.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobStateStore {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void save(String kind, String jobId, Object state, Duration ttl) {
+        try {
+            stringRedisTemplate.opsForValue().set(key(kind, jobId), objectMapper.writeValueAsString(state), ttl);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + kind + " job state", e);
+        }
+    }
+
+    public <T> T find(String kind, String jobId, Class<T> type) {
+        String json = stringRedisTemplate.opsForValue().get(key(kind, jobId));
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read " + kind + " job state", e);
+        }
+    }
+
+    private String key(String kind, String jobId) {
+        return SecurityConstants.JOB_PREFIX + kind + ":" + jobId;
+    }
+}
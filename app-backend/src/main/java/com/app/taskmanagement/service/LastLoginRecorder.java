@@ -0,0 +1,125 @@
+package com.app.taskmanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind buffer for {@code users.last_login_at}. Logins only record into a map keyed
+ * by user id, so repeated logins collapse to the latest timestamp, and the map is flushed
+ * with one JDBC batch every {@code auth.last-login.flush-ms} or as soon as it holds
+ * {@code auth.last-login.max-pending} users. Pending entries are flushed on shutdown.
+ */
+@Service
+@Slf4j
+public class LastLoginRecorder {
+
+    private static final String UPDATE_LAST_LOGIN =
+            "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AsyncTaskExecutor taskExecutor;
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final int maxPending;
+
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+
+    public LastLoginRecorder(
+            JdbcTemplate jdbcTemplate,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor taskExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${auth.last-login.max-pending:500}") int maxPending
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.taskExecutor = taskExecutor;
+        this.maxPending = maxPending;
+
+        this.flushTimer = Timer.builder("auth.last-login.flush")
+                .description("Time to write one batch of last-login timestamps")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("auth.last-login.flushed")
+                .description("Last-login timestamps written")
+                .register(meterRegistry);
+        Gauge.builder("auth.last-login.pending", pending, Map::size)
+                .register(meterRegistry);
+    }
+
+    public void record(Long userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (current, latest) -> latest.isAfter(current) ? latest : current);
+
+        if (pending.size() >= maxPending && flushScheduled.compareAndSet(false, true)) {
+            try {
+                taskExecutor.execute(() -> {
+                    try {
+                        flush();
+                    } finally {
+                        flushScheduled.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // The scheduled flush picks the entries up
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.last-login.flush-ms:1000}")
+    public void scheduledFlush() {
+        flush();
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+        log.info("Last-login buffer drained on shutdown");
+    }
+
+    /**
+     * Writes everything pending in one batch. Entries are removed only if unchanged since the
+     * snapshot, so a login that lands mid-flush stays queued for the next one.
+     */
+    synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(pending.size());
+        pending.forEach((userId, loginAt) -> batch.add(Map.entry(userId, loginAt)));
+
+        try {
+            flushTimer.record(() -> jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN, batch, batch.size(), (ps, entry) -> {
+                Timestamp loginAt = Timestamp.valueOf(entry.getValue());
+                ps.setTimestamp(1, loginAt);
+                ps.setLong(2, entry.getKey());
+                ps.setTimestamp(3, loginAt);
+            }));
+        } catch (Exception e) {
+            log.error("Failed to flush {} last-login timestamps, will retry", batch.size(), e);
+            return;
+        }
+
+        batch.forEach(entry -> pending.remove(entry.getKey(), entry.getValue()));
+        flushedCounter.increment(batch.size());
+    }
+}
@@ -10,47 +10,49 @@ import com.app.taskmanagement.mapper.AuthMapper;
 import com.app.taskmanagement.mapper.UserMapper;
 import com.app.taskmanagement.model.User;
 import com.app.taskmanagement.repository.UserRepository;
+import com.app.taskmanagement.security.FacebookTokenVerifier;
+import com.app.taskmanagement.security.GoogleTokenVerifier;
 import com.app.taskmanagement.security.JwtUtil;
+import com.app.taskmanagement.security.UserPrincipalCache;
+import com.app.taskmanagement.utils.MetricsUtils;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseCookie;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.Map;
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OAuth2Service {
 
+    private static final String VERIFY_TIMER = "oauth2.verify";
+    private static final String TAG_PROVIDER = "provider";
+
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
     private final RefreshTokenRedisService refreshTokenRedisService;
     private final UserMapper userMapper;
     private final AuthMapper authMapper;
-
-    @Value("${oauth2.google.client-id}")
-    private String googleClientId;
-
-    @Value("${oauth2.facebook.app-id}")
-    private String facebookAppId;
-
-    @Value("${oauth2.facebook.app-secret}")
-    private String facebookAppSecret;
+    private final UserPrincipalCache userPrincipalCache;
+    private final GoogleTokenVerifier googleTokenVerifier;
+    private final FacebookTokenVerifier facebookTokenVerifier;
+    private final TransactionTemplate transactionTemplate;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final MeterRegistry meterRegistry;
 
     @Value("${jwt.access-token-expiration}")
     private Long accessTokenExpiration;
@@ -58,9 +60,10 @@ public class OAuth2Service {
     @Value("${oauth2.allow-account-linking}")
     private Boolean allowAccountLinking;
 
-    private final WebClient webClient = WebClient.builder().build();
-
-    @Transactional
+    /**
+     * The token is verified before the transaction opens, so no connection is held while the
+     * signing keys are (re)fetched.
+     */
     public AuthResponse loginWithGoogle(String idToken, HttpServletRequest request, HttpServletResponse response) {
         OAuth2UserInfo userInfo = verifyGoogleIdToken(idToken);
 
@@ -68,69 +71,81 @@ public class OAuth2Service {
             throw new ApplicationException(ErrorCode.EMAIL_REQUIRED_FOR_OAUTH);
         }
 
-        return processOAuth2Login(userInfo, User.AuthProvider.GOOGLE, request, response);
+        RefreshTokenRedisService.Device device = refreshTokenRedisService.device(request);
+        OAuth2Login login = transactionTemplate.execute(status ->
+                processOAuth2Login(userInfo, User.AuthProvider.GOOGLE, device));
+        response.addHeader(HttpHeaders.SET_COOKIE, login.refreshCookie().toString());
+        return login.authResponse();
     }
 
-    @Transactional
+    /**
+     * The Graph API calls complete before the transaction opens, so no connection is held
+     * while waiting on Facebook.
+     */
     public AuthResponse loginWithFacebook(String accessToken, HttpServletRequest request, HttpServletResponse response) {
         OAuth2UserInfo userInfo = verifyFacebookAccessToken(accessToken);
+        RefreshTokenRedisService.Device device = refreshTokenRedisService.device(request);
+        OAuth2Login login = transactionTemplate.execute(status -> completeFacebookLogin(userInfo, device));
+        response.addHeader(HttpHeaders.SET_COOKIE, login.refreshCookie().toString());
+        return login.authResponse();
+    }
+
+    /**
+     * Non-blocking variant of {@link #loginWithFacebook}: the Graph API calls never hold a
+     * request thread, and only the database and Redis work runs on a bounded elastic worker.
+     * The device is read from the request before subscribing, and the refresh cookie is
+     * returned for the caller to set, so neither servlet object is touched off the request
+     * thread.
+     */
+    public Mono<OAuth2Login> loginWithFacebookReactive(String accessToken, HttpServletRequest request) {
+        RefreshTokenRedisService.Device device = refreshTokenRedisService.device(request);
+        return verifyFacebook(accessToken)
+                .publishOn(Schedulers.boundedElastic())
+                .map(userInfo -> transactionTemplate.execute(status -> completeFacebookLogin(userInfo, device)));
+    }
 
+    private OAuth2Login completeFacebookLogin(OAuth2UserInfo userInfo, RefreshTokenRedisService.Device device) {
         if (userInfo.getEmail() == null) {
             throw new ApplicationException(ErrorCode.EMAIL_REQUIRED_FOR_OAUTH);
         }
 
-        return processOAuth2Login(userInfo, User.AuthProvider.FACEBOOK, request, response);
+        return processOAuth2Login(userInfo, User.AuthProvider.FACEBOOK, device);
     }
 
-    private AuthResponse processOAuth2Login(OAuth2UserInfo userInfo, User.AuthProvider provider,
-                                            HttpServletRequest request, HttpServletResponse response) {
-        Optional<User> existingUser = userRepository.findByProviderAndProviderId(provider, userInfo.getProviderId());
+    private OAuth2Login processOAuth2Login(OAuth2UserInfo userInfo, User.AuthProvider provider,
+                                           RefreshTokenRedisService.Device device) {
+        UserRepository.OAuth2Upsert upsert =
+                userRepository.upsertOAuth2User(userInfo, provider, allowAccountLinking);
 
-        if (existingUser.isPresent()) {
-            User user = existingUser.get();
-            user.setLastLoginAt(LocalDateTime.now());
-            userRepository.save(user);
-            log.info("OAuth2 user logged in: {}", user.getEmail());
-            return generateAuthResponse(user, request, response);
+        if (upsert == null) {
+            // A concurrent first login may have inserted this email; its row is visible now
+            upsert = userRepository.upsertOAuth2User(userInfo, provider, allowAccountLinking);
         }
 
-        Optional<User> userByEmail = userRepository.findByEmail(userInfo.getEmail());
-
-        if (userByEmail.isPresent() && !allowAccountLinking) {
+        if (upsert == null) {
             throw new ApplicationException(ErrorCode.EMAIL_ALREADY_EXISTS);
         }
 
-        if (userByEmail.isPresent()) {
-            User user = userByEmail.get();
-            user.setProviderId(userInfo.getProviderId());
-            user.setAuthProvider(provider);
-            user.setEmailVerified(userInfo.getEmailVerified());
-            user.setLastLoginAt(LocalDateTime.now());
-            userRepository.save(user);
-            log.info("Account linked for existing user: {}", user.getEmail());
-            return generateAuthResponse(user, request, response);
+        User user = upsert.user();
+        switch (upsert.outcome()) {
+            case EXISTING -> {
+                // Not set on the managed entity, which would flush an UPDATE at commit
+                lastLoginRecorder.record(user.getId(), LocalDateTime.now());
+                log.info("OAuth2 user logged in: {}", user.getEmail());
+            }
+            case LINKED -> {
+                userPrincipalCache.invalidate(user.getId());
+                log.info("Account linked for existing user: {}", user.getEmail());
+            }
+            case CREATED -> log.info("New OAuth2 user created: {}", user.getEmail());
         }
 
-        User newUser = User.builder()
-                .email(userInfo.getEmail())
-                .fullName(userInfo.getFullName())
-                .role(User.Role.USER)
-                .authProvider(provider)
-                .providerId(userInfo.getProviderId())
-                .emailVerified(userInfo.getEmailVerified())
-                .isActive(true)
-                .mfaEnabled(false)
-                .build();
-
-        userRepository.save(newUser);
-        log.info("New OAuth2 user created: {}", newUser.getEmail());
-
-        return generateAuthResponse(newUser, request, response);
+        return generateLogin(user, device);
     }
 
-    private AuthResponse generateAuthResponse(User user, HttpServletRequest request, HttpServletResponse response) {
+    private OAuth2Login generateLogin(User user, RefreshTokenRedisService.Device device) {
         String accessToken = jwtUtil.generateAccessToken(user);
-        String refreshToken = refreshTokenRedisService.createRefreshToken(user, request);
+        String refreshToken = refreshTokenRedisService.createRefreshToken(user, device);
 
         ResponseCookie cookie = ResponseCookie.from(SecurityConstants.REFRESH_TOKEN_COOKIE, refreshToken)
                 .httpOnly(true)
@@ -140,94 +155,61 @@ public class OAuth2Service {
                 .sameSite("Lax")
                 .build();
 
-        response.addHeader("Set-Cookie", cookie.toString());
-
         UserDto userDto = userMapper.toDto(user);
-        return authMapper.toAuthResponse(accessToken, accessTokenExpiration, userDto);
+        return new OAuth2Login(authMapper.toAuthResponse(accessToken, accessTokenExpiration, userDto), cookie);
     }
 
     private OAuth2UserInfo verifyGoogleIdToken(String idToken) {
-        try {
-            GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(
-                    new NetHttpTransport(),
-                    new GsonFactory()
-            )
-                    .setAudience(Collections.singletonList(googleClientId))
-                    .build();
-
-            GoogleIdToken googleIdToken = verifier.verify(idToken);
-
-            if (googleIdToken == null) {
+        return MetricsUtils.time(meterRegistry, VERIFY_TIMER, Tags.of(TAG_PROVIDER, "google"), () -> {
+            try {
+                GoogleIdToken googleIdToken = googleTokenVerifier.verify(idToken);
+
+                if (googleIdToken == null) {
+                    throw new ApplicationException(ErrorCode.OAUTH2_VERIFICATION_FAILED);
+                }
+
+                GoogleIdToken.Payload payload = googleIdToken.getPayload();
+
+                return OAuth2UserInfo.builder()
+                        .providerId(payload.getSubject())
+                        .email(payload.getEmail())
+                        .fullName((String) payload.get("name"))
+                        .emailVerified(payload.getEmailVerified())
+                        .build();
+
+            } catch (ApplicationException e) {
+                throw e;
+            } catch (Exception e) {
+                log.error("Google token verification failed", e);
                 throw new ApplicationException(ErrorCode.OAUTH2_VERIFICATION_FAILED);
             }
-
-            GoogleIdToken.Payload payload = googleIdToken.getPayload();
-
-            return OAuth2UserInfo.builder()
-                    .providerId(payload.getSubject())
-                    .email(payload.getEmail())
-                    .fullName((String) payload.get("name"))
-                    .emailVerified(payload.getEmailVerified())
-                    .build();
-
-        } catch (ApplicationException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Google token verification failed", e);
-            throw new ApplicationException(ErrorCode.OAUTH2_VERIFICATION_FAILED);
-        }
+        });
     }
 
     private OAuth2UserInfo verifyFacebookAccessToken(String accessToken) {
-        try {
-            String debugTokenUrl = String.format(
-                    SecurityConstants.FACEBOOK_DEBUG_TOKEN_URL,
-                    accessToken,
-                    facebookAppId,
-                    facebookAppSecret
-            );
-
-            Map<String, Object> debugResponse = webClient.get()
-                    .uri(debugTokenUrl)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                    .block();
-
-            if (debugResponse == null || !debugResponse.containsKey("data")) {
-                throw new ApplicationException(ErrorCode.OAUTH2_VERIFICATION_FAILED);
-            }
-
-            Map<String, Object> data = (Map<String, Object>) debugResponse.get("data");
-            Boolean isValid = (Boolean) data.get("is_valid");
-
-            if (!Boolean.TRUE.equals(isValid)) {
-                throw new ApplicationException(ErrorCode.OAUTH2_VERIFICATION_FAILED);
-            }
-
-            String userInfoUrl = String.format(SecurityConstants.FACEBOOK_USER_INFO_URL, accessToken);
+        return verifyFacebook(accessToken).block();
+    }
 
-            Map<String, Object> userInfo = webClient.get()
-                    .uri(userInfoUrl)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {})
-                    .block();
+    /**
+     * Times the Graph API verification from subscription to completion, so the blocking and
+     * reactive logins report the same {@code oauth2.verify} timer.
+     */
+    private Mono<OAuth2UserInfo> verifyFacebook(String accessToken) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return facebookTokenVerifier.verify(accessToken)
+                    .doOnSuccess(userInfo -> sample.stop(verifyTimer("facebook", MetricsUtils.OUTCOME_SUCCESS)))
+                    .doOnError(e -> sample.stop(verifyTimer("facebook", MetricsUtils.OUTCOME_ERROR)));
+        });
+    }
 
-            if (userInfo == null) {
-                throw new ApplicationException(ErrorCode.OAUTH2_VERIFICATION_FAILED);
-            }
+    private Timer verifyTimer(String provider, String outcome) {
+        return meterRegistry.timer(VERIFY_TIMER, TAG_PROVIDER, provider, MetricsUtils.TAG_OUTCOME, outcome);
+    }
 
-            return OAuth2UserInfo.builder()
-                    .providerId((String) userInfo.get("id"))
-                    .email((String) userInfo.get("email"))
-                    .fullName((String) userInfo.get("name"))
-                    .emailVerified(userInfo.get("email") != null)
-                    .build();
-
-        } catch (ApplicationException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Facebook token verification failed", e);
-            throw new ApplicationException(ErrorCode.OAUTH2_VERIFICATION_FAILED);
-        }
+    /**
+     * A completed OAuth2 login: the response body and the refresh-token cookie to set on it.
+     */
+    public record OAuth2Login(AuthResponse authResponse, ResponseCookie refreshCookie) {
     }
-}
\ No newline at end of file
+}
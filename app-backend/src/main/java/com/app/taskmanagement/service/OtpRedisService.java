@@ -4,49 +4,62 @@ import com.app.taskmanagement.constant.ErrorCode;
 import com.app.taskmanagement.constant.SecurityConstants;
 import com.app.taskmanagement.constant.TimeConstants;
 import com.app.taskmanagement.exception.ApplicationException;
+import com.app.taskmanagement.utils.MetricsUtils;
+import com.app.taskmanagement.utils.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
+import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * OTP issuance and verification, each done by a single Redis script so concurrent
+ * requests for the same email cannot slip past the rate limit or the guess limit.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OtpRedisService {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private static final RedisScript<Long> ISSUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/issue_otp.lua"), Long.class);
+    private static final RedisScript<Long> VERIFY_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/verify_otp.lua"), Long.class);
+    private static final long OTP_TTL_MILLIS = TimeUnit.MINUTES.toMillis(TimeConstants.OTP_EXPIRATION_MINUTES);
+    private static final long RATE_LIMIT_WINDOW_MILLIS =
+            TimeUnit.MINUTES.toMillis(SecurityConstants.OTP_RATE_LIMIT_WINDOW_MINUTES);
+
+    // OTPs and counters are stored as plain strings rather than JSON
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
     private static final SecureRandom RANDOM = new SecureRandom();
+    private static final String REDIS_TIMER = "auth.redis.operation";
 
     public String generateAndSaveOtp(String email) {
-        String attemptsKey = SecurityConstants.OTP_ATTEMPTS_PREFIX + email;
-
-        Integer attempts = (Integer) redisTemplate.opsForValue().get(attemptsKey);
-        if (attempts != null && attempts >= SecurityConstants.MAX_OTP_ATTEMPTS) {
-            throw new ApplicationException(ErrorCode.TOO_MANY_OTP_ATTEMPTS);
-        }
-
         String otp = generateOtp();
-        String otpKey = SecurityConstants.OTP_PREFIX + email;
 
-        redisTemplate.opsForValue().set(
-                otpKey,
+        Long retryAfterMillis = timed("issue", () -> redisTemplate.execute(
+                ISSUE_SCRIPT,
+                List.of(SecurityConstants.OTP_PREFIX + email, SecurityConstants.OTP_ATTEMPTS_PREFIX + email),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(RATE_LIMIT_WINDOW_MILLIS),
+                String.valueOf(SecurityConstants.MAX_OTP_ATTEMPTS),
                 otp,
-                TimeConstants.OTP_EXPIRATION_MINUTES,
-                TimeUnit.MINUTES
-        );
+                String.valueOf(OTP_TTL_MILLIS),
+                UUID.randomUUID().toString()
+        ));
 
-        if (attempts == null) {
-            redisTemplate.opsForValue().set(
-                    attemptsKey,
-                    1,
-                    SecurityConstants.OTP_RATE_LIMIT_WINDOW_MINUTES,
-                    TimeUnit.MINUTES
-            );
-        } else {
-            redisTemplate.opsForValue().increment(attemptsKey);
+        if (retryAfterMillis == null || retryAfterMillis > 0) {
+            log.warn("OTP rate limit reached for: {}", email);
+            throw new ApplicationException(ErrorCode.TOO_MANY_OTP_ATTEMPTS);
         }
 
         log.info("OTP generated for: {}", email);
@@ -54,24 +67,30 @@ public class OtpRedisService {
     }
 
     public boolean verifyOtp(String email, String otp) {
-        String otpKey = SecurityConstants.OTP_PREFIX + email;
-        String storedOtp = (String) redisTemplate.opsForValue().get(otpKey);
+        Long matched = timed("verify", () -> redisTemplate.execute(
+                VERIFY_SCRIPT,
+                List.of(SecurityConstants.OTP_PREFIX + email, SecurityConstants.OTP_ATTEMPTS_PREFIX + email),
+                otp,
+                String.valueOf(SecurityConstants.MAX_OTP_GUESSES)
+        ));
 
-        if (storedOtp == null || !storedOtp.equals(otp)) {
+        if (matched == null || matched != 1L) {
             return false;
         }
 
-        redisTemplate.delete(otpKey);
-        redisTemplate.delete(SecurityConstants.OTP_ATTEMPTS_PREFIX + email);
-
         log.info("OTP verified successfully for: {}", email);
         return true;
     }
 
+    private <T> T timed(String operation, MetricsUtils.TimedCall<T, RuntimeException> call) {
+        return MetricsUtils.time(meterRegistry, REDIS_TIMER, Tags.of("store", "otp", "operation", operation),
+                () -> RequestTimings.time(RequestTimings.Stage.REDIS, operation, call));
+    }
+
     private String generateOtp() {
         int min = (int) Math.pow(10, TimeConstants.OTP_LENGTH - 1);
         int max = (int) Math.pow(10, TimeConstants.OTP_LENGTH) - 1;
         int otp = RANDOM.nextInt(max - min + 1) + min;
         return String.valueOf(otp);
     }
-}
\ No newline at end of file
+}
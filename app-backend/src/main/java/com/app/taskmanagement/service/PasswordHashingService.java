@@ -0,0 +1,175 @@
+package com.app.taskmanagement.service;
+
+import com.app.taskmanagement.constant.ErrorCode;
+import com.app.taskmanagement.exception.ApplicationException;
+import com.app.taskmanagement.utils.RequestTimings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs password hashing on a dedicated pool sized to the core count, so a credential
+ * stuffing burst saturates this bulkhead instead of every Tomcat worker. When the queue
+ * is full or a hash does not finish within the timeout the caller gets {@code SERVER_BUSY}.
+ * Bulk imports hash on a second pool of {@code security.password-hashing.bulk-threads}
+ * threads, one by default, so provisioning cannot starve logins of CPU; raise it only where
+ * imports run on capacity that logins do not need.
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor bulkExecutor;
+    private final long timeoutMillis;
+
+    private final Timer queueWaitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.timeout-ms:5000}") long timeoutMillis,
+            @Value("${security.password-hashing.bulk-threads:1}") int bulkThreads
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int bulkPoolSize = Math.max(1, bulkThreads);
+
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        // Callers submit one bounded batch at a time, so the queue never grows past a batch
+        this.bulkExecutor = new ThreadPoolExecutor(
+                bulkPoolSize,
+                bulkPoolSize,
+                60L,
+                TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("password-hash-bulk-")
+        );
+        this.bulkExecutor.allowCoreThreadTimeOut(true);
+
+        this.queueWaitTimer = Timer.builder("auth.password.queue.wait")
+                .description("Time a hashing task waited for a worker")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("Hashing tasks rejected because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.size", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return RequestTimings.time(RequestTimings.Stage.HASH, "encode",
+                () -> submit(encodeTimer, () -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return RequestTimings.time(RequestTimings.Stage.HASH, "matches",
+                () -> submit(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Hashes a batch in parallel on the bulk pool, returning hashes in input order.
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<Callable<String>> tasks = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            tasks.add(() -> encodeTimer.recordCallable(() -> passwordEncoder.encode(rawPassword)));
+        }
+
+        try {
+            List<String> hashes = new ArrayList<>(tasks.size());
+            for (Future<String> future : bulkExecutor.invokeAll(tasks)) {
+                hashes.add(future.get());
+            }
+            return hashes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApplicationException(ErrorCode.SERVER_BUSY);
+        } catch (ExecutionException e) {
+            throw new ApplicationException(ErrorCode.INTERNAL_ERROR, e.getCause());
+        }
+    }
+
+    /**
+     * True when the hash was produced with a different algorithm or a lower cost than the
+     * one currently configured and should be replaced after a successful login.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        bulkExecutor.shutdown();
+    }
+
+    private <T> T submit(Timer timer, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(task);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("Password hashing pool saturated, rejecting request");
+            throw new ApplicationException(ErrorCode.SERVER_BUSY);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ApplicationException(ErrorCode.SERVER_BUSY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApplicationException(ErrorCode.SERVER_BUSY);
+        } catch (ExecutionException e) {
+            throw new ApplicationException(ErrorCode.INTERNAL_ERROR, e.getCause());
+        }
+    }
+}
@@ -1,111 +1,524 @@
 package com.app.taskmanagement.service;
 
 import com.app.taskmanagement.constant.SecurityConstants;
+import com.app.taskmanagement.dto.response.SessionDto;
 import com.app.taskmanagement.model.User;
+import com.app.taskmanagement.security.TokenEpochStore;
+import com.app.taskmanagement.utils.MetricsUtils;
+import com.app.taskmanagement.utils.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
 
+/**
+ * Refresh tokens are {@code <userId>.<uuid>}, and every key of a user's sessions carries the
+ * user id as a hash tag ({@code refresh:{42}.<uuid>}, {@code user_sessions:{42}},
+ * {@code user_devices:{42}}), so the scripts can declare all the keys they touch and still
+ * run against a single Redis Cluster slot. Tokens issued before that are bare UUIDs whose
+ * keys and indexes are untagged; they are still rotated, revoked and listed, and move to the
+ * tagged layout on their next rotation.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RefreshTokenRedisService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TokenEpochStore tokenEpochStore;
+    private final MeterRegistry meterRegistry;
 
     @Value("${jwt.refresh-token-expiration}")
     private Long refreshTokenExpiration;
 
+    /**
+     * Compact layout: {@code u} (user id), {@code d} (device fingerprint), {@code l} (device
+     * label) and {@code c} (created at, epoch millis) as plain strings, with plain tokens as
+     * index members. The legacy layout stores JSON values under {@code userId}, {@code email},
+     * {@code deviceId} and {@code createdAt}, and JSON-quoted index members. Both are always
+     * read, so the flag only selects what new sessions are written as.
+     */
+    @Value("${security.session-store.compact-encoding:true}")
+    private boolean compactEncoding;
+
+    private static final RedisScript<Long> ISSUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/issue_refresh_token.lua"), Long.class);
+    private static final RedisScript<Long> REVOKE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/revoke_refresh_token.lua"), Long.class);
+    private static final RedisSerializer<Long> COUNT_RESULT = new GenericToStringSerializer<>(Long.class);
+    private static final RedisScript<String> ROTATE_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/rotate_refresh_token.lua"), String.class);
+    private static final String ENCODING_COMPACT = "compact";
+    private static final String ENCODING_JSON = "json";
+    private static final String FIELD_USER_ID = "u";
+    private static final String FIELD_DEVICE = "d";
+    private static final String FIELD_LABEL = "l";
+    private static final String FIELD_CREATED_AT = "c";
+    private static final String LEGACY_USER_ID = "userId";
+    private static final String LEGACY_EMAIL = "email";
+    private static final String LEGACY_DEVICE = "deviceId";
+    private static final String LEGACY_CREATED_AT = "createdAt";
+    private static final int FINGERPRINT_BYTES = 12;
+    private static final int MAX_LABEL_LENGTH = 120;
+    private static final String UNKNOWN_DEVICE = "unknown";
+    private static final String ROTATE_MISSING = "MISSING";
+    private static final String ROTATE_DEVICE_MISMATCH = "DEVICE_MISMATCH";
+    private static final char TOKEN_SEPARATOR = '.';
+    private static final String REDIS_TIMER = "auth.redis.operation";
+
     public String createRefreshToken(User user, HttpServletRequest request) {
-        String token = UUID.randomUUID().toString();
-        String key = SecurityConstants.REFRESH_TOKEN_PREFIX + token;
-        String deviceId = extractDeviceId(request);
+        return createRefreshToken(user, device(request));
+    }
+
+    /**
+     * Issues a token for a device captured earlier with {@link #device}, for callers that
+     * finish the login off the request thread.
+     */
+    public String createRefreshToken(User user, Device device) {
+        String token = newToken(user.getId());
+        String deviceId = device.id();
+        String devicesKey = devicesKey(user.getId());
+        String field = compactEncoding ? fingerprint(deviceId) : deviceId;
+        long now = System.currentTimeMillis();
 
-        revokeTokenByDeviceId(user.getId(), deviceId);
+        List<String> args = new ArrayList<>(16);
+        args.add(member(token));
+        args.add(String.valueOf(refreshTokenExpiration));
+        args.add(String.valueOf(now));
+        args.add(field);
+        args.add(deviceId);
+        if (compactEncoding) {
+            args.addAll(List.of(
+                    FIELD_USER_ID, String.valueOf(user.getId()),
+                    FIELD_DEVICE, field,
+                    FIELD_LABEL, device.label(),
+                    FIELD_CREATED_AT, String.valueOf(now)));
+        } else {
+            args.addAll(List.of(
+                    LEGACY_USER_ID, toJson(user.getId()),
+                    LEGACY_EMAIL, toJson(user.getEmail()),
+                    LEGACY_DEVICE, toJson(deviceId),
+                    LEGACY_CREATED_AT, toJson(LocalDateTime.now().toString())));
+        }
 
-        Map<String, Object> tokenData = new HashMap<>();
-        tokenData.put("userId", user.getId());
-        tokenData.put("email", user.getEmail());
-        tokenData.put("deviceId", deviceId);
-        tokenData.put("createdAt", LocalDateTime.now().toString());
+        // The script only replaces the entry read here; if another login on the device got in
+        // between, it writes nothing and the new entry is read and replaced instead
+        boolean issued = false;
+        while (!issued) {
+            List<Object> entries = timed("read_device", () -> stringRedisTemplate.opsForHash()
+                    .multiGet(devicesKey, List.of(field, deviceId)));
+            Object previous = entries.get(0) != null ? entries.get(0) : entries.get(1);
 
-        redisTemplate.opsForHash().putAll(key, tokenData);
-        redisTemplate.expire(key, refreshTokenExpiration, TimeUnit.MILLISECONDS);
+            List<String> keys = new ArrayList<>(4);
+            keys.add(refreshKey(token));
+            keys.add(sessionsKey(user.getId()));
+            keys.add(devicesKey);
+            if (previous != null) {
+                keys.add(refreshKey(unquote(previous.toString())));
+            }
 
-        String userTokensKey = SecurityConstants.USER_TOKENS_PREFIX + user.getId();
-        redisTemplate.opsForSet().add(userTokensKey, token);
+            List<Object> scriptArgs = new ArrayList<>(args.size() + 1);
+            scriptArgs.add(previous != null ? previous.toString() : "");
+            scriptArgs.addAll(args);
+            issued = Long.valueOf(1).equals(timed("issue", () -> redisTemplate.execute(
+                    ISSUE_SCRIPT,
+                    RedisSerializer.string(),
+                    COUNT_RESULT,
+                    keys,
+                    scriptArgs.toArray()
+            )));
+        }
 
         log.info("Refresh token created for user: {}", user.getEmail());
         return token;
     }
 
-    public Map<String, Object> getRefreshTokenData(String token) {
-        String key = SecurityConstants.REFRESH_TOKEN_PREFIX + token;
-        Map<Object, Object> rawData = redisTemplate.opsForHash().entries(key);
+    /**
+     * Validates the presented token against the caller's device, revokes it and issues its
+     * replacement in a single EVALSHA, after one read of the owner for a legacy token.
+     * Returns {@code null} if the token is unknown or was presented from another device (in
+     * which case it is revoked).
+     */
+    public RotatedToken rotateRefreshToken(String token, HttpServletRequest request) {
+        Long userId = userIdOf(token);
+        if (userId == null) {
+            return null;
+        }
+        String newToken = newToken(userId);
+        String deviceId = extractDeviceId(request);
+
+        List<String> keys = new ArrayList<>(7);
+        keys.add(refreshKey(token));
+        keys.add(refreshKey(newToken));
+        keys.add(sessionsKey(userId));
+        keys.add(devicesKey(userId));
+        if (!isTagged(token)) {
+            keys.addAll(legacyIndexKeys(userId));
+        }
+
+        String result = timed("rotate", () -> redisTemplate.execute(
+                ROTATE_SCRIPT,
+                RedisSerializer.string(),
+                RedisSerializer.string(),
+                keys,
+                String.valueOf(userId),
+                token,
+                member(newToken),
+                String.valueOf(refreshTokenExpiration),
+                String.valueOf(System.currentTimeMillis()),
+                compactEncoding ? ENCODING_COMPACT : ENCODING_JSON,
+                fingerprint(deviceId),
+                toJson(deviceId),
+                toJson(LocalDateTime.now().toString()),
+                deviceLabel(request)
+        ));
+
+        if (result == null || ROTATE_MISSING.equals(result)) {
+            return null;
+        }
 
-        if (rawData.isEmpty()) {
+        if (ROTATE_DEVICE_MISMATCH.equals(result)) {
+            log.warn("Device mismatch detected on refresh. Token revoked.");
             return null;
         }
 
-        Map<String, Object> tokenData = new HashMap<>();
-        rawData.forEach((k, v) -> tokenData.put(k.toString(), v));
-        return tokenData;
+        return new RotatedToken(Long.valueOf(result), newToken);
     }
 
     public void revokeToken(String token) {
-        String key = SecurityConstants.REFRESH_TOKEN_PREFIX + token;
-        Map<String, Object> tokenData = getRefreshTokenData(token);
-
-        if (tokenData != null) {
-            Object userIdObj = tokenData.get("userId");
-            if (userIdObj != null) {
-                long userId = Long.parseLong(userIdObj.toString());
-                String userTokensKey = SecurityConstants.USER_TOKENS_PREFIX + userId;
-                redisTemplate.opsForSet().remove(userTokensKey, token);
-            }
+        Long userId = userIdOf(token);
+        if (userId == null) {
+            return;
         }
 
-        redisTemplate.delete(key);
+        List<String> keys = new ArrayList<>(4);
+        keys.add(refreshKey(token));
+        if (isTagged(token)) {
+            keys.add(sessionsKey(userId));
+            keys.add(devicesKey(userId));
+        } else {
+            keys.addAll(legacyIndexKeys(userId));
+        }
+
+        timed("revoke", () -> redisTemplate.execute(
+                REVOKE_SCRIPT,
+                RedisSerializer.string(),
+                COUNT_RESULT,
+                keys,
+                String.valueOf(userId),
+                token
+        ));
         log.info("Refresh token revoked");
     }
 
-    public void revokeAllUserTokens(Long userId) {
-        String userTokensKey = SecurityConstants.USER_TOKENS_PREFIX + userId;
-        Set<Object> tokens = redisTemplate.opsForSet().members(userTokensKey);
+    /**
+     * Lists the user's live sessions from the device index, one per device, with a single
+     * pipelined lookup of their creation times. Index entries whose token has already
+     * expired are dropped on the way. Both hash layouts are read, as is the untagged device
+     * index of sessions issued before tokens carried the user id.
+     */
+    @SuppressWarnings("unchecked")
+    public List<SessionDto> getActiveSessions(Long userId, String currentToken) {
+        String devicesKey = devicesKey(userId);
+        String legacyDevicesKey = SecurityConstants.USER_DEVICES_PREFIX + userId;
+        List<Object> indexes = timed("list_devices", () -> stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public Object execute(RedisOperations operations) {
+                operations.opsForHash().entries(devicesKey);
+                operations.opsForHash().entries(legacyDevicesKey);
+                return null;
+            }
+        }));
+        Map<Object, Object> devices = (Map<Object, Object>) indexes.get(0);
+        Map<Object, Object> legacyDevices = (Map<Object, Object>) indexes.get(1);
 
-        if (tokens != null) {
-            tokens.forEach(token -> {
-                String key = SecurityConstants.REFRESH_TOKEN_PREFIX + token.toString();
-                redisTemplate.delete(key);
-            });
+        if (devices.isEmpty() && legacyDevices.isEmpty()) {
+            return List.of();
         }
 
-        redisTemplate.delete(userTokensKey);
+        int size = devices.size() + legacyDevices.size();
+        List<String> deviceFields = new ArrayList<>(size);
+        List<String> tokens = new ArrayList<>(size);
+        List<String> indexKeys = new ArrayList<>(size);
+        devices.forEach((field, member) -> {
+            deviceFields.add(field.toString());
+            tokens.add(unquote(member.toString()));
+            indexKeys.add(devicesKey);
+        });
+        // A device that has since logged in again is listed once, with its new session
+        legacyDevices.forEach((field, member) -> {
+            if (!devices.containsKey(field)) {
+                deviceFields.add(field.toString());
+                tokens.add(unquote(member.toString()));
+                indexKeys.add(legacyDevicesKey);
+            }
+        });
+
+        List<Object> createdAts = timed("read_sessions", () -> stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public Object execute(RedisOperations operations) {
+                tokens.forEach(token -> operations.opsForHash().multiGet(
+                        refreshKey(token),
+                        List.of(FIELD_CREATED_AT, LEGACY_CREATED_AT, FIELD_LABEL, LEGACY_DEVICE)));
+                return null;
+            }
+        }));
+
+        List<SessionDto> sessions = new ArrayList<>(tokens.size());
+        Map<String, List<Object>> stale = new HashMap<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            List<?> values = (List<?>) createdAts.get(i);
+            LocalDateTime createdAt = parseCreatedAt(values);
+            if (createdAt == null) {
+                stale.computeIfAbsent(indexKeys.get(i), key -> new ArrayList<>()).add(deviceFields.get(i));
+                continue;
+            }
+            sessions.add(SessionDto.builder()
+                    .deviceId(deviceFields.get(i))
+                    .deviceName(parseLabel(values))
+                    .createdAt(createdAt)
+                    .current(tokens.get(i).equals(currentToken))
+                    .build());
+        }
+
+        stale.forEach((key, fields) ->
+                timed("prune_devices", () -> stringRedisTemplate.opsForHash().delete(key, fields.toArray())));
+        sessions.sort(Comparator.comparing(SessionDto::getCreatedAt).reversed());
+        return sessions;
+    }
+
+    public void revokeAllUserTokens(Long userId) {
+        revokeAllUserTokens(List.of(userId));
         log.info("All refresh tokens revoked for user: {}", userId);
     }
 
-    private void revokeTokenByDeviceId(Long userId, String deviceId) {
-        String userTokensKey = SecurityConstants.USER_TOKENS_PREFIX + userId;
-        Set<Object> tokens = redisTemplate.opsForSet().members(userTokensKey);
+    /**
+     * Revokes every session of the given users in two pipelined round trips: one reading
+     * their session indexes, one UNLINKing the token hashes and indexes. Callers are expected
+     * to pass batches of a bounded size. Returns the number of refresh tokens revoked.
+     * A user's hash-tagged keys go in one UNLINK, which stays within their slot; the untagged
+     * keys of sessions issued before tokens carried the user id go in a second one.
+     */
+    public long revokeAllUserTokens(List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+
+        // Legacy user_tokens sets are read too until the sweeper has migrated them all
+        List<Object> indexes = timed("read_indexes", () -> stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                userIds.forEach(userId -> {
+                    operations.opsForZSet().range(sessionsKey(userId), 0, -1);
+                    operations.opsForZSet().range(SecurityConstants.USER_SESSIONS_PREFIX + userId, 0, -1);
+                    operations.opsForSet().members(SecurityConstants.USER_TOKENS_PREFIX + userId);
+                });
+                return null;
+            }
+        }));
 
-        if (tokens != null) {
-            tokens.forEach(token -> {
-                Map<String, Object> tokenData = getRefreshTokenData(token.toString());
-                if (tokenData != null && deviceId.equals(tokenData.get("deviceId"))) {
-                    revokeToken(token.toString());
+        List<byte[][]> unlinks = new ArrayList<>(2 * userIds.size());
+        long revoked = 0;
+        for (int i = 0; i < userIds.size(); i++) {
+            Long userId = userIds.get(i);
+            Set<String> tokens = new HashSet<>();
+            for (Object index : indexes.subList(3 * i, 3 * i + 3)) {
+                if (index instanceof Collection<?> members) {
+                    members.forEach(member -> tokens.add(unquote(member.toString())));
                 }
-            });
+            }
+
+            List<String> tagged = new ArrayList<>(List.of(sessionsKey(userId), devicesKey(userId)));
+            List<String> legacy = new ArrayList<>(legacyIndexKeys(userId));
+            for (String token : tokens) {
+                (isTagged(token) ? tagged : legacy).add(refreshKey(token));
+            }
+
+            unlinks.add(serializeKeys(tagged));
+            unlinks.add(serializeKeys(legacy));
+            revoked += tokens.size();
         }
+
+        timed("unlink_sessions", () -> redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            unlinks.forEach(keys -> connection.keyCommands().unlink(keys));
+            return null;
+        }));
+
+        tokenEpochStore.bumpAll(userIds);
+        return revoked;
+    }
+
+    private <T> T timed(String operation, MetricsUtils.TimedCall<T, RuntimeException> call) {
+        return MetricsUtils.time(meterRegistry, REDIS_TIMER, Tags.of("store", "refresh_token", "operation", operation),
+                () -> RequestTimings.time(RequestTimings.Stage.REDIS, operation, call));
+    }
+
+    /**
+     * The user a token belongs to: parsed from the token, or for a legacy bare-UUID token read
+     * from its hash. Null if the token is malformed or, for a legacy one, unknown.
+     */
+    private Long userIdOf(String token) {
+        String userId;
+        if (isTagged(token)) {
+            userId = token.substring(0, token.indexOf(TOKEN_SEPARATOR));
+        } else {
+            List<Object> fields = timed("read_owner", () -> stringRedisTemplate.opsForHash()
+                    .multiGet(refreshKey(token), List.of(FIELD_USER_ID, LEGACY_USER_ID)));
+            Object stored = fields.get(0) != null ? fields.get(0) : fields.get(1);
+            userId = stored != null ? unquote(stored.toString()) : null;
+        }
+        try {
+            return userId != null ? Long.valueOf(userId) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String newToken(Long userId) {
+        return userId + String.valueOf(TOKEN_SEPARATOR) + UUID.randomUUID();
+    }
+
+    private static boolean isTagged(String token) {
+        return token.indexOf(TOKEN_SEPARATOR) > 0;
+    }
+
+    public static String refreshKey(String token) {
+        int separator = token.indexOf(TOKEN_SEPARATOR);
+        return separator > 0
+                ? SecurityConstants.REFRESH_TOKEN_PREFIX + "{" + token.substring(0, separator) + "}" + token.substring(separator)
+                : SecurityConstants.REFRESH_TOKEN_PREFIX + token;
+    }
+
+    public static String sessionsKey(Long userId) {
+        return SecurityConstants.USER_SESSIONS_PREFIX + "{" + userId + "}";
+    }
+
+    public static String devicesKey(Long userId) {
+        return SecurityConstants.USER_DEVICES_PREFIX + "{" + userId + "}";
+    }
+
+    /**
+     * The untagged sessions, devices and user_tokens indexes of tokens issued before tokens
+     * carried the user id.
+     */
+    private static List<String> legacyIndexKeys(Long userId) {
+        return List.of(SecurityConstants.USER_SESSIONS_PREFIX + userId,
+                SecurityConstants.USER_DEVICES_PREFIX + userId,
+                SecurityConstants.USER_TOKENS_PREFIX + userId);
+    }
+
+    private static byte[][] serializeKeys(List<String> keys) {
+        RedisSerializer<String> keySerializer = RedisSerializer.string();
+        byte[][] serialized = new byte[keys.size()][];
+        for (int i = 0; i < serialized.length; i++) {
+            serialized[i] = keySerializer.serialize(keys.get(i));
+        }
+        return serialized;
+    }
+
+    private LocalDateTime parseCreatedAt(List<?> values) {
+        if (values == null) {
+            return null;
+        }
+        if (values.get(0) != null) {
+            Instant instant = Instant.ofEpochMilli(Long.parseLong(values.get(0).toString()));
+            return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        }
+        if (values.get(1) != null) {
+            return LocalDateTime.parse(unquote(values.get(1).toString()));
+        }
+        return null;
+    }
+
+    private String parseLabel(List<?> values) {
+        if (values.get(2) != null) {
+            return values.get(2).toString();
+        }
+        if (values.get(3) != null) {
+            // Legacy device ids are "{User-Agent}_{IP}"; only the User-Agent is shown
+            String deviceId = unquote(values.get(3).toString());
+            int separator = deviceId.lastIndexOf('_');
+            return separator > 0 ? deviceId.substring(0, separator) : deviceId;
+        }
+        return UNKNOWN_DEVICE;
+    }
+
+    /**
+     * Truncated SHA-256 of the device id: 16 URL-safe characters instead of the full
+     * User-Agent and IP, which is all the store needs to tell devices apart.
+     */
+    private String fingerprint(String deviceId) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(deviceId.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(Arrays.copyOf(hash, FINGERPRINT_BYTES));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static String unquote(String json) {
+        return json.length() >= 2 && json.charAt(0) == '"'
+                ? json.substring(1, json.length() - 1)
+                : json;
+    }
+
+    @SuppressWarnings("unchecked")
+    private String toJson(Object value) {
+        byte[] bytes = ((RedisSerializer<Object>) redisTemplate.getHashValueSerializer()).serialize(value);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private String member(String token) {
+        return compactEncoding ? token : toJson(token);
+    }
+
+    /**
+     * What {@code /api/auth/sessions} shows for the device: its User-Agent, capped in length.
+     */
+    private String deviceLabel(HttpServletRequest request) {
+        String userAgent = request.getHeader("User-Agent");
+        if (userAgent == null || userAgent.isBlank()) {
+            return UNKNOWN_DEVICE;
+        }
+        return userAgent.length() > MAX_LABEL_LENGTH ? userAgent.substring(0, MAX_LABEL_LENGTH) : userAgent;
+    }
+
+    public Device device(HttpServletRequest request) {
+        return new Device(extractDeviceId(request), deviceLabel(request));
     }
 
     private String extractDeviceId(HttpServletRequest request) {
@@ -113,4 +526,10 @@ public class RefreshTokenRedisService {
         String ipAddress = request.getRemoteAddr();
         return (userAgent != null ? userAgent : "unknown") + "_" + (ipAddress != null ? ipAddress : "unknown");
     }
-}
\ No newline at end of file
+
+    public record RotatedToken(Long userId, String token) {
+    }
+
+    public record Device(String id, String label) {
+    }
+}
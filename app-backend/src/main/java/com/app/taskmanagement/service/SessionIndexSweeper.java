@@ -0,0 +1,155 @@
+package com.app.taskmanagement.service;
+
+import com.app.taskmanagement.constant.SecurityConstants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Walks the per-user session indexes with SCAN and prunes expired members. The prefix
+ * matches both the hash-tagged {@code user_sessions:{<id>}} indexes and the untagged ones of
+ * sessions issued before tokens carried the user id. Legacy {@code user_tokens:<id>} sets,
+ * which never expired, are folded into the expiry-scored {@code user_sessions:<id>} zset on
+ * the way and deleted. Each script call handles at most
+ * {@code security.session-sweep.chunk-size} members, so the sweep never blocks Redis for
+ * longer than one chunk however large a user's index is. Only the node holding the sweep
+ * lock sweeps in a given interval.
+ */
+@Service
+@Slf4j
+public class SessionIndexSweeper {
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SWEEP_SCRIPT =
+            RedisScript.of(new ClassPathResource("redis/sweep_session_index.lua"), List.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final Counter sweptCounter;
+    private final Counter reclaimedCounter;
+
+    @Value("${security.session-sweep.scan-count:500}")
+    private int scanCount;
+
+    @Value("${security.session-sweep.chunk-size:200}")
+    private int chunkSize;
+
+    // Held for most of an interval and never released, so the other nodes skip their turn
+    @Value("#{${security.session-sweep.interval-ms:3600000} * 9 / 10}")
+    private long lockMillis;
+
+    public SessionIndexSweeper(
+            RedisTemplate<String, Object> redisTemplate,
+            StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+
+        this.sweptCounter = Counter.builder("auth.session-index.swept")
+                .description("Session index keys visited by the sweeper")
+                .register(meterRegistry);
+        this.reclaimedCounter = Counter.builder("auth.session-index.reclaimed")
+                .description("Memory reclaimed from session indexes")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${security.session-sweep.initial-delay-ms:60000}",
+            fixedDelayString = "${security.session-sweep.interval-ms:3600000}"
+    )
+    public void sweep() {
+        Boolean acquired = stringRedisTemplate.opsForValue().setIfAbsent(
+                SecurityConstants.SESSION_SWEEP_LOCK_KEY, UUID.randomUUID().toString(), Duration.ofMillis(lockMillis));
+        if (!Boolean.TRUE.equals(acquired)) {
+            log.debug("Session index sweep skipped, another node holds the lock");
+            return;
+        }
+
+        long startedAt = System.currentTimeMillis();
+        SweepResult legacy = sweepPrefix(SecurityConstants.USER_TOKENS_PREFIX);
+        SweepResult indexes = sweepPrefix(SecurityConstants.USER_SESSIONS_PREFIX);
+
+        log.info("Session index sweep: {} legacy sets migrated, {} indexes pruned, {} bytes reclaimed, took {} ms",
+                legacy.keys(), indexes.keys(), legacy.bytes() + indexes.bytes(),
+                System.currentTimeMillis() - startedAt);
+    }
+
+    private SweepResult sweepPrefix(String prefix) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(prefix + "*")
+                .count(scanCount)
+                .build();
+
+        long swept = 0;
+        long reclaimedBytes = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String userId = cursor.next().substring(prefix.length());
+                long reclaimed = sweepUser(userId);
+                if (reclaimed > 0) {
+                    reclaimedCounter.increment(reclaimed);
+                    reclaimedBytes += reclaimed;
+                }
+                swept++;
+            }
+        } catch (Exception e) {
+            log.error("Session index sweep of {}* stopped after {} keys", prefix, swept, e);
+        }
+
+        sweptCounter.increment(swept);
+        return new SweepResult(swept, reclaimedBytes);
+    }
+
+    private long sweepUser(String userId) {
+        String legacyKey = SecurityConstants.USER_TOKENS_PREFIX + userId;
+        String sessionsKey = SecurityConstants.USER_SESSIONS_PREFIX + userId;
+        long reclaimed = 0;
+        boolean more = true;
+        while (more) {
+            // Legacy members are read up front so the script can declare their refresh keys;
+            // hash-tagged indexes never had a legacy set
+            Set<String> legacy = userId.startsWith("{")
+                    ? Set.of()
+                    : stringRedisTemplate.opsForSet().distinctRandomMembers(legacyKey, chunkSize);
+            List<String> keys = new ArrayList<>(legacy.size() + 2);
+            List<String> args = new ArrayList<>(legacy.size() + 2);
+            keys.add(legacyKey);
+            keys.add(sessionsKey);
+            args.add(String.valueOf(System.currentTimeMillis()));
+            args.add(String.valueOf(chunkSize));
+            for (String member : legacy) {
+                keys.add(RefreshTokenRedisService.refreshKey(RefreshTokenRedisService.unquote(member)));
+                args.add(member);
+            }
+
+            List<?> result = stringRedisTemplate.execute(SWEEP_SCRIPT, keys, args.toArray());
+            if (result == null) {
+                break;
+            }
+            more = ((Number) result.get(0)).longValue() == 1;
+            reclaimed += ((Number) result.get(1)).longValue();
+        }
+        return reclaimed;
+    }
+
+    private record SweepResult(long keys, long bytes) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.app.taskmanagement.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+public final class MetricsUtils {
+
+    public static final String TAG_OUTCOME = "outcome";
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+
+    private MetricsUtils() {}
+
+    @FunctionalInterface
+    public interface TimedCall<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * Runs {@code call} and records it under {@code name} with {@code tags} plus
+     * {@code outcome=success} or {@code outcome=error} if it threw.
+     */
+    public static <T, E extends Exception> T time(MeterRegistry registry, String name, Tags tags,
+                                                  TimedCall<T, E> call) throws E {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = OUTCOME_ERROR;
+        try {
+            T result = call.call();
+            outcome = OUTCOME_SUCCESS;
+            return result;
+        } finally {
+            sample.stop(registry.timer(name, tags.and(TAG_OUTCOME, outcome)));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.app.taskmanagement.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one stage of request handling, emitted by {@link RequestTimings}.
+ * Disabled events cost a field check, so it is left on the request path permanently.
+ */
+@Name("com.app.taskmanagement.RequestStage")
+@Label("Request Stage")
+@Category({"Task Management", "Request"})
+@Description("Time spent in one stage of handling an HTTP request")
+@StackTrace(false)
+class RequestStageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Operation")
+    String operation;
+}
@@ -0,0 +1,139 @@
+package com.app.taskmanagement.utils;
+
+import jdk.jfr.EventType;
+
+import java.util.Locale;
+
+/**
+ * Breaks a request down into stages for the {@code Server-Timing} header and for Flight
+ * Recorder. Every stage emits a {@link RequestStageEvent}; durations are additionally summed
+ * per stage while a {@link RequestTimings} is bound to the current thread, which
+ * {@code ServerTimingFilter} does only for debug or sampled requests. Work handed to other
+ * threads is not attributed to the request, except where the request thread waits for it.
+ * When neither applies, spans are a shared no-op and cost no allocation or clock read.
+ */
+public final class RequestTimings {
+
+    public enum Stage {
+        FILTER, DB, REDIS, HASH, SERIALIZE;
+
+        private final String metricName = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final EventType STAGE_EVENT = EventType.getEventType(RequestStageEvent.class);
+
+    private final long startNanos = System.nanoTime();
+    private final long[] stageNanos = new long[Stage.values().length];
+    private final int[] stageCounts = new int[Stage.values().length];
+
+    /**
+     * Runs {@code call} as one {@code stage} span.
+     */
+    public static <T, E extends Exception> T time(Stage stage, String operation,
+                                                  MetricsUtils.TimedCall<T, E> call) throws E {
+        Span span = start(stage);
+        try {
+            return call.call();
+        } finally {
+            span.end(operation);
+        }
+    }
+
+    /**
+     * Opens a span for stages that begin and end in different components; it must be ended
+     * on the same thread.
+     */
+    public static Span start(Stage stage) {
+        RequestTimings timings = CURRENT.get();
+        boolean recording = STAGE_EVENT.isEnabled();
+        if (timings == null && !recording) {
+            return Span.NOOP;
+        }
+        return new Span(stage, timings, recording ? new RequestStageEvent() : null);
+    }
+
+    public static void bind(RequestTimings timings) {
+        CURRENT.set(timings);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Renders the collected stages as a {@code Server-Timing} value, durations in milliseconds.
+     */
+    public String toHeaderValue() {
+        StringBuilder header = new StringBuilder();
+        for (Stage stage : Stage.values()) {
+            int count = stageCounts[stage.ordinal()];
+            if (count == 0) {
+                continue;
+            }
+            appendMetric(header, stage.metricName, stageNanos[stage.ordinal()]);
+            if (stage != Stage.FILTER && stage != Stage.SERIALIZE) {
+                header.append(";desc=\"").append(count).append(count == 1 ? " call\"" : " calls\"");
+            }
+        }
+        appendMetric(header, "total", System.nanoTime() - startNanos);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+    }
+
+    private void add(Stage stage, long nanos) {
+        stageNanos[stage.ordinal()] += nanos;
+        stageCounts[stage.ordinal()]++;
+    }
+
+    public static final class Span {
+
+        private static final Span NOOP = new Span(null, null, null);
+
+        private final Stage stage;
+        private final RequestTimings timings;
+        private final RequestStageEvent event;
+        private final long startNanos;
+        private boolean ended;
+
+        private Span(Stage stage, RequestTimings timings, RequestStageEvent event) {
+            this.stage = stage;
+            this.timings = timings;
+            this.event = event;
+            if (event != null) {
+                event.begin();
+            }
+            this.startNanos = timings != null ? System.nanoTime() : 0;
+        }
+
+        /**
+         * Closes the span; only the first call counts.
+         */
+        public void end(String operation) {
+            if (this == NOOP || ended) {
+                return;
+            }
+            ended = true;
+
+            if (timings != null) {
+                timings.add(stage, System.nanoTime() - startNanos);
+            }
+
+            if (event == null) {
+                return;
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                event.stage = stage.metricName;
+                event.operation = operation;
+                event.commit();
+            }
+        }
+    }
+}
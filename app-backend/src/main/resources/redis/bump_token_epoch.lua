@@ -0,0 +1,11 @@
+-- Advances a user's token epoch to the current time, or one past its current value if that
+-- is already ahead, so an epoch never repeats even if the key was lost and re-created.
+-- KEYS[1] token_epoch:{userId}
+-- ARGV[1] now (epoch millis)
+-- Returns the new epoch.
+
+local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+local epoch = math.max(current + 1, tonumber(ARGV[1]))
+
+redis.call('SET', KEYS[1], string.format('%d', epoch))
+return epoch
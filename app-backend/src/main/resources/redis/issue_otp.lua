@@ -0,0 +1,30 @@
+-- Rate-limits and issues an OTP in one atomic step.
+-- The issuance log is a sliding window: a zset of issue times, trimmed to the window on
+-- every call. The OTP is stored as a hash of the code and a wrong-guess counter.
+-- KEYS[1] otp:{email}   KEYS[2] otp_attempts:{email}
+-- ARGV[1] now (epoch millis)   ARGV[2] window millis   ARGV[3] max issues per window
+-- ARGV[4] otp code   ARGV[5] otp ttl millis   ARGV[6] unique issue id
+-- Returns 0 when issued, otherwise the millis until the window admits another OTP.
+
+local now = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+
+-- Counters written before the sliding window were plain strings
+if redis.call('TYPE', KEYS[2]).ok ~= 'zset' then
+    redis.call('DEL', KEYS[2])
+end
+
+redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now - window)
+if redis.call('ZCARD', KEYS[2]) >= tonumber(ARGV[3]) then
+    local oldest = redis.call('ZRANGE', KEYS[2], 0, 0, 'WITHSCORES')
+    return math.max(tonumber(oldest[2]) + window - now, 1)
+end
+
+redis.call('ZADD', KEYS[2], now, ARGV[6])
+redis.call('PEXPIRE', KEYS[2], window)
+
+redis.call('DEL', KEYS[1])
+redis.call('HSET', KEYS[1], 'c', ARGV[4], 'g', 0)
+redis.call('PEXPIRE', KEYS[1], ARGV[5])
+
+return 0
@@ -0,0 +1,44 @@
+-- Issues a refresh token, replacing any session the user already holds on the same device.
+-- Index members are plain tokens, or JSON-quoted ones written by the legacy layout.
+-- Every key is declared and carries the user id as a hash tag, so all of them share a slot.
+-- The caller reads the device's current entry to declare the refresh key it replaces; if the
+-- entry has changed by the time the script runs, nothing is written and 0 is returned, and
+-- the caller reads it again and retries.
+-- KEYS[1] refresh:{<userId>}.<new>   KEYS[2] user_sessions:{<userId>}
+-- KEYS[3] user_devices:{<userId>}   KEYS[4] refresh key of the replaced session, if any
+-- ARGV[1] device index entry the caller read ('' if none)   ARGV[2] new token (index member)
+-- ARGV[3] ttl millis   ARGV[4] now (epoch millis)
+-- ARGV[5] device index field   ARGV[6] legacy device index field (raw device id)
+-- ARGV[7..] field/value pairs of the token hash
+
+local ttl = tonumber(ARGV[3])
+local now = tonumber(ARGV[4])
+
+local field = ARGV[5]
+local previous = redis.call('HGET', KEYS[3], field)
+if not previous and ARGV[6] ~= ARGV[5] then
+    field = ARGV[6]
+    previous = redis.call('HGET', KEYS[3], field)
+end
+if (previous or '') ~= ARGV[1] then
+    return 0
+end
+if previous then
+    redis.call('DEL', KEYS[4])
+    redis.call('ZREM', KEYS[2], previous)
+    if field ~= ARGV[5] then
+        redis.call('HDEL', KEYS[3], field)
+    end
+end
+
+redis.call('HSET', KEYS[1], unpack(ARGV, 7))
+redis.call('PEXPIRE', KEYS[1], ttl)
+
+redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now)
+redis.call('ZADD', KEYS[2], now + ttl, ARGV[2])
+redis.call('PEXPIRE', KEYS[2], ttl)
+
+redis.call('HSET', KEYS[3], ARGV[5], ARGV[2])
+redis.call('PEXPIRE', KEYS[3], ttl)
+
+return 1
@@ -0,0 +1,33 @@
+-- Revokes a refresh token and drops it from the user's session and device indexes.
+-- Reads both the compact (u, d) and the legacy JSON (userId, deviceId) hash layouts, and
+-- removes index members in both the plain and the legacy JSON-quoted encoding.
+-- Every key is declared. For a token carrying the user id they are the hash-tagged keys of
+-- that user, all in one slot; a legacy bare-UUID token passes its untagged keys instead.
+-- KEYS[1] refresh key   KEYS[2] user_sessions index   KEYS[3] user_devices index
+-- KEYS[4] legacy user_tokens set (legacy tokens only)
+-- ARGV[1] userId the keys were derived from   ARGV[2] token
+
+local fields = redis.call('HMGET', KEYS[1], 'u', 'd', 'userId', 'deviceId')
+local userId = fields[1] or fields[3]
+
+redis.call('DEL', KEYS[1])
+
+if userId ~= ARGV[1] then
+    return 0
+end
+
+local quoted = cjson.encode(ARGV[2])
+redis.call('ZREM', KEYS[2], ARGV[2], quoted)
+if KEYS[4] then
+    redis.call('SREM', KEYS[4], quoted)
+end
+
+local device = fields[2] or (fields[4] and cjson.decode(fields[4]))
+if device then
+    local current = redis.call('HGET', KEYS[3], device)
+    if current == ARGV[2] or current == quoted then
+        redis.call('HDEL', KEYS[3], device)
+    end
+end
+
+return 1
@@ -0,0 +1,74 @@
+-- Validates, revokes and reissues a refresh token in one atomic step.
+-- Reads both the compact (u, d, l, c) and the legacy JSON (userId, deviceId, createdAt) hash
+-- layouts and writes the replacement in the layout selected by ARGV[6]. Index members of the
+-- old token are removed in both the plain and the legacy JSON-quoted encoding.
+-- Every key is declared. The replacement and a token carrying the user id use the user's
+-- hash-tagged keys, all in one slot; a legacy bare-UUID token also passes the untagged
+-- indexes it is removed from as KEYS[5..7].
+-- KEYS[1] refresh key of the old token   KEYS[2] refresh:{<userId>}.<new>
+-- KEYS[3] user_sessions:{<userId>}   KEYS[4] user_devices:{<userId>}
+-- KEYS[5] legacy user_sessions   KEYS[6] legacy user_devices   KEYS[7] legacy user_tokens
+-- ARGV[1] userId the keys were derived from   ARGV[2] old token   ARGV[3] new token (index member)
+-- ARGV[4] ttl millis   ARGV[5] now (epoch millis)   ARGV[6] 'compact' or 'json'
+-- ARGV[7] device fingerprint   ARGV[8] device id (serialized)   ARGV[9] createdAt (serialized)
+-- ARGV[10] device label
+-- Returns the stored userId, 'MISSING' or 'DEVICE_MISMATCH'.
+
+local fields = redis.call('HMGET', KEYS[1], 'u', 'd', 'userId', 'deviceId', 'email')
+local userId = fields[1] or fields[3]
+
+if userId ~= ARGV[1] then
+    return 'MISSING'
+end
+
+local oldSessionsKey = KEYS[5] or KEYS[3]
+local oldDevicesKey = KEYS[6] or KEYS[4]
+local ttl = tonumber(ARGV[4])
+local now = tonumber(ARGV[5])
+local quoted = cjson.encode(ARGV[2])
+
+redis.call('DEL', KEYS[1])
+redis.call('ZREM', oldSessionsKey, ARGV[2], quoted)
+if KEYS[7] then
+    redis.call('SREM', KEYS[7], quoted)
+end
+
+local storedField, sameDevice
+if fields[2] then
+    storedField, sameDevice = fields[2], fields[2] == ARGV[7]
+elseif fields[4] then
+    storedField, sameDevice = cjson.decode(fields[4]), fields[4] == ARGV[8]
+end
+
+if storedField then
+    local current = redis.call('HGET', oldDevicesKey, storedField)
+    if current == ARGV[2] or current == quoted then
+        redis.call('HDEL', oldDevicesKey, storedField)
+    end
+end
+
+if not sameDevice then
+    return 'DEVICE_MISMATCH'
+end
+
+local newField
+if ARGV[6] == 'compact' then
+    newField = ARGV[7]
+    redis.call('HSET', KEYS[2], 'u', userId, 'd', ARGV[7], 'l', ARGV[10], 'c', ARGV[5])
+else
+    newField = cjson.decode(ARGV[8])
+    redis.call('HSET', KEYS[2], 'userId', userId, 'deviceId', ARGV[8], 'createdAt', ARGV[9])
+    if fields[5] then
+        redis.call('HSET', KEYS[2], 'email', fields[5])
+    end
+end
+redis.call('PEXPIRE', KEYS[2], ttl)
+
+redis.call('ZREMRANGEBYSCORE', KEYS[3], '-inf', now)
+redis.call('ZADD', KEYS[3], now + ttl, ARGV[3])
+redis.call('PEXPIRE', KEYS[3], ttl)
+
+redis.call('HSET', KEYS[4], newField, ARGV[3])
+redis.call('PEXPIRE', KEYS[4], ttl)
+
+return userId
@@ -0,0 +1,47 @@
+-- Prunes one user's session index by at most ARGV[2] members per call, first folding in the
+-- legacy user_tokens set if present. Callers repeat the call while it reports more work,
+-- so Redis is never blocked for longer than one chunk however large the set is.
+-- Legacy members are read by the caller beforehand and passed with their refresh keys, so
+-- every key the script touches is declared. Members whose refresh token has expired are
+-- dropped; live ones are scored by expiry and stored as plain tokens.
+-- KEYS[1] legacy user_tokens set   KEYS[2] user_sessions index
+-- KEYS[3..] refresh keys of the legacy members in ARGV[3..], in the same order
+-- ARGV[1] now (epoch millis)   ARGV[2] chunk size   ARGV[3..] legacy members to migrate
+-- Returns {1 if more work remains else 0, bytes reclaimed as reported by MEMORY USAGE}.
+
+local now = tonumber(ARGV[1])
+local chunk = tonumber(ARGV[2])
+local before = (redis.call('MEMORY', 'USAGE', KEYS[1]) or 0) + (redis.call('MEMORY', 'USAGE', KEYS[2]) or 0)
+
+local function reclaimed()
+    local after = (redis.call('MEMORY', 'USAGE', KEYS[1]) or 0) + (redis.call('MEMORY', 'USAGE', KEYS[2]) or 0)
+    return before - after
+end
+
+-- The set shrinks as it is migrated and vanishes once empty
+if #ARGV > 2 then
+    for i = 3, #ARGV do
+        if redis.call('SREM', KEYS[1], ARGV[i]) == 1 then
+            local remaining = redis.call('PTTL', KEYS[i])
+            if remaining > 0 then
+                redis.call('ZADD', KEYS[2], now + remaining, cjson.decode(ARGV[i]))
+            end
+        end
+    end
+    return {1, reclaimed()}
+end
+
+local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', now, 'LIMIT', 0, chunk)
+if #expired > 0 then
+    redis.call('ZREM', KEYS[2], unpack(expired))
+    if #expired == chunk then
+        return {1, reclaimed()}
+    end
+end
+
+local latest = redis.call('ZRANGE', KEYS[2], -1, -1, 'WITHSCORES')
+if latest[2] then
+    redis.call('PEXPIRE', KEYS[2], math.max(tonumber(latest[2]) - now, 1))
+end
+
+return {0, reclaimed()}
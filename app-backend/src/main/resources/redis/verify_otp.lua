@@ -0,0 +1,28 @@
+-- Checks an OTP and consumes it on success, in one atomic step.
+-- Each wrong guess is counted against the OTP, which is burned once the limit is reached.
+-- KEYS[1] otp:{email}   KEYS[2] otp_attempts:{email}
+-- ARGV[1] submitted code   ARGV[2] max wrong guesses
+-- Returns 1 if the code matched, 0 otherwise.
+
+local keyType = redis.call('TYPE', KEYS[1]).ok
+local code
+
+if keyType == 'hash' then
+    code = redis.call('HGET', KEYS[1], 'c')
+elseif keyType == 'string' then
+    -- OTPs issued before this script were plain or JSON-quoted strings
+    code = string.gsub(redis.call('GET', KEYS[1]), '"', '')
+else
+    return 0
+end
+
+if code == ARGV[1] then
+    redis.call('DEL', KEYS[1], KEYS[2])
+    return 1
+end
+
+if keyType ~= 'hash' or redis.call('HINCRBY', KEYS[1], 'g', 1) >= tonumber(ARGV[2]) then
+    redis.call('DEL', KEYS[1])
+end
+
+return 0
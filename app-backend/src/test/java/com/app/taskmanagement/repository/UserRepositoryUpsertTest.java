@@ -0,0 +1,178 @@
+package com.app.taskmanagement.repository;
+
+import com.app.taskmanagement.config.JpaAuditingConfig;
+import com.app.taskmanagement.dto.response.OAuth2UserInfo;
+import com.app.taskmanagement.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs UPSERT_OAUTH2_USER against a real PostgreSQL. Each call commits in its own
+ * transaction, as it does in OAuth2Service, so concurrent logins really race.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JpaAuditingConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class UserRepositoryUpsertTest {
+
+    private static final String EMAIL = "user@example.com";
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createsThenFindsByProviderIdentity() {
+        UserRepository.OAuth2Upsert created = upsert(google("sub-1"), true);
+        UserRepository.OAuth2Upsert existing = upsert(google("sub-1"), true);
+
+        assertThat(created.outcome()).isEqualTo(UserRepositoryCustom.Outcome.CREATED);
+        assertThat(created.user().getAuthProvider()).isEqualTo(User.AuthProvider.GOOGLE);
+        assertThat(existing.outcome()).isEqualTo(UserRepositoryCustom.Outcome.EXISTING);
+        assertThat(existing.user().getId()).isEqualTo(created.user().getId());
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void linksLocalAccountWithSameEmail() {
+        User local = saveLocalUser();
+
+        UserRepository.OAuth2Upsert linked = upsert(google("sub-1"), true);
+
+        assertThat(linked.outcome()).isEqualTo(UserRepositoryCustom.Outcome.LINKED);
+        assertThat(linked.user().getId()).isEqualTo(local.getId());
+        assertThat(linked.user().getAuthProvider()).isEqualTo(User.AuthProvider.GOOGLE);
+        assertThat(linked.user().getProviderId()).isEqualTo("sub-1");
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void leavesLocalAccountAloneWhenLinkingIsDisabled() {
+        saveLocalUser();
+
+        // OAuth2Service turns a null upsert into EMAIL_ALREADY_EXISTS
+        assertThat(upsert(google("sub-1"), false)).isNull();
+        assertThat(userRepository.findByEmail(EMAIL))
+                .get()
+                .extracting(User::getAuthProvider)
+                .isEqualTo(User.AuthProvider.LOCAL);
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentFirstLoginsBothSucceedWithOneRow() throws Exception {
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // The first login inserts and holds its transaction open...
+            Future<UserRepository.OAuth2Upsert> first = executor.submit(() -> transactionTemplate.execute(status -> {
+                UserRepository.OAuth2Upsert upsert = login(google("sub-1"));
+                inserted.countDown();
+                await(release);
+                return upsert;
+            }));
+            assertThat(inserted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // ...so the second one's INSERT waits on the email conflict until it commits
+            Future<UserRepository.OAuth2Upsert> second = executor.submit(() ->
+                    transactionTemplate.execute(status -> login(google("sub-1"))));
+            Thread.sleep(300);
+            release.countDown();
+
+            assertThat(first.get(10, TimeUnit.SECONDS).outcome()).isEqualTo(UserRepositoryCustom.Outcome.CREATED);
+            UserRepository.OAuth2Upsert winner = first.get();
+            UserRepository.OAuth2Upsert loser = second.get(10, TimeUnit.SECONDS);
+            assertThat(loser).isNotNull();
+            assertThat(loser.outcome()).isEqualTo(UserRepositoryCustom.Outcome.EXISTING);
+            assertThat(loser.user().getId()).isEqualTo(winner.user().getId());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    /**
+     * Mirrors OAuth2Service: a login that lost the insert race retries once, as a new
+     * statement that sees the committed row.
+     */
+    private UserRepository.OAuth2Upsert login(OAuth2UserInfo userInfo) {
+        UserRepository.OAuth2Upsert upsert = userRepository.upsertOAuth2User(userInfo, User.AuthProvider.GOOGLE, true);
+        return upsert != null ? upsert : userRepository.upsertOAuth2User(userInfo, User.AuthProvider.GOOGLE, true);
+    }
+
+    private UserRepository.OAuth2Upsert upsert(OAuth2UserInfo userInfo, boolean allowLinking) {
+        return transactionTemplate.execute(status ->
+                userRepository.upsertOAuth2User(userInfo, User.AuthProvider.GOOGLE, allowLinking));
+    }
+
+    private User saveLocalUser() {
+        return userRepository.save(User.builder()
+                .email(EMAIL)
+                .fullName("Local User")
+                .passwordHash("hash")
+                .build());
+    }
+
+    private static OAuth2UserInfo google(String subject) {
+        return OAuth2UserInfo.builder()
+                .providerId(subject)
+                .email(EMAIL)
+                .fullName("Google User")
+                .emailVerified(true)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.constant.ErrorCode;
+import com.app.taskmanagement.exception.ApplicationException;
+import com.app.taskmanagement.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BruteForceDetectorTest extends RedisContainerSupport {
+
+    // Small enough that the spray below saturates every cell
+    private static final int SKETCH_DEPTH = 2;
+    private static final int SKETCH_WIDTH = 64;
+    private static final int SPRAYED_KEYS = 5_000;
+
+    private LettuceConnectionFactory secondConnection;
+    private BruteForceDetector nodeA;
+    private BruteForceDetector nodeB;
+
+    @BeforeEach
+    void setUp() {
+        secondConnection = newConnectionFactory();
+        nodeA = detector(stringRedisTemplate);
+        nodeB = detector(new StringRedisTemplate(secondConnection));
+        nodeA.sync();
+        nodeB.sync();
+    }
+
+    @AfterEach
+    void tearDown() {
+        secondConnection.destroy();
+    }
+
+    @Test
+    void sprayOfDistinctKeysDoesNotThrottleUntouchedKey() {
+        spray(nodeA);
+        nodeA.sync();
+
+        assertThatCode(() -> nodeA.check("victim@example.com", "198.51.100.7")).doesNotThrowAnyException();
+        nodeA.sync();
+        assertThatCode(() -> nodeA.check("victim@example.com", "198.51.100.7")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void hammeredKeyIsStillThrottledDuringSpray() {
+        spray(nodeA);
+        for (int i = 0; i < 10; i++) {
+            nodeA.recordFailure("target@example.com", "192.0.2." + i);
+        }
+        nodeA.sync();
+
+        assertThatThrownBy(() -> nodeA.check("target@example.com", "198.51.100.7"))
+                .isInstanceOf(ApplicationException.class)
+                .extracting(e -> ((ApplicationException) e).getErrorCode())
+                .isEqualTo(ErrorCode.LOGIN_THROTTLED);
+    }
+
+    @Test
+    void failuresOnOneNodeThrottleTheKeyOnAnotherWithinOneSync() {
+        for (int i = 0; i < 10; i++) {
+            nodeA.recordFailure("target@example.com", "192.0.2." + i);
+        }
+        nodeA.sync();
+        nodeB.sync();
+
+        // Flagged by the shared sketch, but node B has no exact count for it yet
+        assertThatCode(() -> nodeB.check("target@example.com", "198.51.100.7")).doesNotThrowAnyException();
+        nodeB.sync();
+
+        assertThatThrownBy(() -> nodeB.check("target@example.com", "198.51.100.7"))
+                .isInstanceOf(ApplicationException.class);
+    }
+
+    @Test
+    void successfulLoginClearsEmailCountOnEveryNode() {
+        for (int i = 0; i < 6; i++) {
+            nodeA.recordFailure("user@example.com", "192.0.2." + i);
+        }
+        nodeA.sync();
+        nodeB.sync();
+        nodeB.check("user@example.com", "198.51.100.7");
+        nodeB.sync();
+        assertThatThrownBy(() -> nodeB.check("user@example.com", "198.51.100.7"))
+                .isInstanceOf(ApplicationException.class);
+
+        nodeA.recordSuccess("user@example.com", "192.0.2.5");
+
+        assertThatCode(() -> nodeA.check("user@example.com", "192.0.2.5")).doesNotThrowAnyException();
+        nodeB.sync();
+        assertThatCode(() -> nodeB.check("user@example.com", "198.51.100.7")).doesNotThrowAnyException();
+
+        // The next typo starts from zero rather than going straight into backoff
+        nodeA.recordFailure("user@example.com", "192.0.2.5");
+        nodeA.sync();
+        assertThatCode(() -> nodeA.check("user@example.com", "192.0.2.5")).doesNotThrowAnyException();
+    }
+
+    private static void spray(BruteForceDetector detector) {
+        for (int i = 0; i < SPRAYED_KEYS; i++) {
+            detector.recordFailure("spray-" + i + "@example.com", "10.0." + i / 250 + "." + i % 250);
+        }
+    }
+
+    private static BruteForceDetector detector(StringRedisTemplate template) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        return new BruteForceDetector(new LoginFailureStore(template, meterRegistry, 15), meterRegistry,
+                SKETCH_DEPTH, SKETCH_WIDTH, 10_000, 15, 5, 30, 20, 200, 1000, 300_000);
+    }
+}
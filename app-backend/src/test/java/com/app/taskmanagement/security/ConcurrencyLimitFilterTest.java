@@ -0,0 +1,57 @@
+package com.app.taskmanagement.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+                meterRegistry, 50, 10, 400, 2.0, 0.2, 10, 600, 0.9, 0.5);
+        filter = new ConcurrencyLimitFilter(limit, new ObjectMapper(), meterRegistry,
+                List.of("/api/auth/refresh"), List.of("/api/auth/register"), List.of("/actuator/**"),
+                List.of("/api/admin/**"));
+    }
+
+    @Test
+    void asyncRequestHoldsItsSlotUntilCompletion() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/facebook/reactive");
+        request.setAsyncSupported(true);
+        AsyncContext[] async = new AsyncContext[1];
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> async[0] = req.startAsync());
+
+        assertThat(inFlight()).isEqualTo(1);
+        async[0].complete();
+        assertThat(inFlight()).isZero();
+    }
+
+    @Test
+    void syncRequestReleasesOnReturn() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/admin/users/import");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            assertThat(inFlight()).isEqualTo(1);
+        });
+
+        assertThat(inFlight()).isZero();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("http.concurrency.in-flight").gauge().value();
+    }
+}
@@ -0,0 +1,181 @@
+package com.app.taskmanagement.security;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GoogleTokenVerifierTest {
+
+    private static final String CLIENT_ID = "test-client.apps.googleusercontent.com";
+    private static final String KEY_ID = "test-key";
+    private static final String ISSUER = "https://accounts.google.com";
+    private static final long REFRESH_AHEAD_SECONDS = 600;
+
+    private static String certsJson;
+    private static PrivateKey signingKey;
+
+    private final AtomicInteger fetches = new AtomicInteger();
+    private volatile long maxAgeSeconds = 3600;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private GoogleTokenVerifier verifier;
+
+    @BeforeAll
+    static void loadKeys() throws Exception {
+        String cert = resource("/oauth2/google-test-cert.pem");
+        certsJson = "{\"" + KEY_ID + "\":\"" + cert.replace("\n", "\\n") + "\"}";
+
+        String key = resource("/oauth2/google-test-key.pem")
+                .replaceAll("-----[A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        signingKey = KeyFactory.getInstance("RSA")
+                .generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(key)));
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/certs", exchange -> {
+            fetches.incrementAndGet();
+            try {
+                // Keeps the fetch in flight long enough for concurrent callers to pile up
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = certsJson.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=" + maxAgeSeconds);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+
+        String certsUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/certs";
+        verifier = new GoogleTokenVerifier(new SimpleMeterRegistry(), CLIENT_ID, certsUrl, REFRESH_AHEAD_SECONDS);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void acceptsValidTokenAndRejectsInvalidOnes() throws Exception {
+        GoogleIdToken verified = verifier.verify(token(signingKey, CLIENT_ID, Instant.now().plusSeconds(600)));
+
+        assertThat(verified).isNotNull();
+        assertThat(verified.getPayload().getEmail()).isEqualTo("user@example.com");
+
+        PrivateKey otherKey = KeyPairGenerator.getInstance("RSA").generateKeyPair().getPrivate();
+        assertThat(verifier.verify(token(otherKey, CLIENT_ID, Instant.now().plusSeconds(600)))).isNull();
+        assertThat(verifier.verify(token(signingKey, "other-client", Instant.now().plusSeconds(600)))).isNull();
+        assertThat(verifier.verify(token(signingKey, CLIENT_ID, Instant.now().minus(Duration.ofHours(1))))).isNull();
+    }
+
+    @Test
+    void concurrentVerificationsOnStaleKeysShareOneFetch() throws Exception {
+        String idToken = token(signingKey, CLIENT_ID, Instant.now().plusSeconds(600));
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            List<Future<GoogleIdToken>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return verifier.verify(idToken);
+                }));
+            }
+            start.countDown();
+
+            for (Future<GoogleIdToken> result : results) {
+                assertThat(result.get()).isNotNull();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void leavesKeysAloneWhileFarFromExpiry() throws Exception {
+        verifier.verify(token(signingKey, CLIENT_ID, Instant.now().plusSeconds(600)));
+
+        verifier.refreshIfExpiring();
+
+        assertThat(fetches).hasValue(1);
+    }
+
+    @Test
+    void refreshesAheadOfExpiry() throws Exception {
+        // Still fresh for on-demand verification, but inside the refresh-ahead window
+        maxAgeSeconds = REFRESH_AHEAD_SECONDS - 60;
+        String idToken = token(signingKey, CLIENT_ID, Instant.now().plusSeconds(600));
+        verifier.verify(idToken);
+        verifier.verify(idToken);
+        assertThat(fetches).hasValue(1);
+
+        verifier.refreshIfExpiring();
+
+        assertThat(fetches).hasValue(2);
+        assertThat(verifier.verify(idToken)).isNotNull();
+        assertThat(fetches).hasValue(2);
+    }
+
+    private static String token(PrivateKey key, String audience, Instant expiresAt) {
+        return Jwts.builder()
+                .header().keyId(KEY_ID).and()
+                .issuer(ISSUER)
+                .audience().add(audience).and()
+                .subject("1234567890")
+                .claim("email", "user@example.com")
+                .claim("email_verified", true)
+                .issuedAt(Date.from(expiresAt.minus(Duration.ofHours(1))))
+                .expiration(Date.from(expiresAt))
+                .signWith(key, Jwts.SIG.RS256)
+                .compact();
+    }
+
+    private static String resource(String path) throws IOException {
+        try (InputStream in = GoogleTokenVerifierTest.class.getResourceAsStream(path)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
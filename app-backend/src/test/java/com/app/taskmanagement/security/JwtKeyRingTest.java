@@ -0,0 +1,168 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.config.JwtSigningProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    private static final String SECRET = "test-secret-that-is-at-least-32-bytes-long";
+
+    @Test
+    void signsAndVerifiesWithConfiguredEs256Key() throws Exception {
+        JwtKeyRing ring = ring(JwtSigningProperties.Algorithm.ES256, "k1", key("k1", ecKeyPair("secp256r1")));
+
+        Jws<Claims> jws = parse(ring, sign(ring));
+
+        assertThat(jws.getHeader().getKeyId()).isEqualTo("k1");
+        assertThat(jws.getHeader().getAlgorithm()).isEqualTo("ES256");
+        assertThat(jws.getPayload().getSubject()).isEqualTo("7");
+    }
+
+    @Test
+    void signsAndVerifiesWithEphemeralEdDsaKey() {
+        JwtKeyRing ring = ring(JwtSigningProperties.Algorithm.EDDSA, null);
+
+        Jws<Claims> jws = parse(ring, sign(ring));
+
+        assertThat(jws.getHeader().getAlgorithm()).isEqualTo("EdDSA");
+        assertThat(jwks(ring)).singleElement().satisfies(jwk -> {
+            assertThat(jwk).containsEntry("kty", "OKP")
+                    .containsEntry("alg", "EdDSA")
+                    .containsEntry("kid", jws.getHeader().getKeyId());
+            // Raw public key, without the X.509 prefix: 32 bytes for Ed25519, 57 for Ed448
+            assertThat(jwk.get("crv")).isIn("Ed25519", "Ed448");
+            assertThat(Base64.getUrlDecoder().decode((String) jwk.get("x")).length)
+                    .isEqualTo("Ed25519".equals(jwk.get("crv")) ? 32 : 57);
+        });
+    }
+
+    @Test
+    void verifiesTokensOfRetiredKeyByKid() throws Exception {
+        JwtSigningProperties.SigningKey oldKey = key("old", ecKeyPair("secp256r1"));
+        JwtSigningProperties.SigningKey newKey = key("new", ecKeyPair("secp256r1"));
+        String oldToken = sign(ring(JwtSigningProperties.Algorithm.ES256, "old", oldKey));
+
+        // After rotation the old key is kept public-only
+        JwtSigningProperties.SigningKey retired = key("old", null);
+        retired.setPublicKey(oldKey.getPublicKey());
+        JwtKeyRing rotated = ring(JwtSigningProperties.Algorithm.ES256, "new", newKey, retired);
+
+        assertThat(parse(rotated, oldToken).getHeader().getKeyId()).isEqualTo("old");
+        assertThat(parse(rotated, sign(rotated)).getHeader().getKeyId()).isEqualTo("new");
+        assertThat(jwks(rotated)).extracting(jwk -> jwk.get("kid")).containsExactly("new", "old");
+    }
+
+    @Test
+    void rejectsUnknownKid() throws Exception {
+        JwtKeyRing other = ring(JwtSigningProperties.Algorithm.ES256, "k2", key("k2", ecKeyPair("secp256r1")));
+        JwtKeyRing ring = ring(JwtSigningProperties.Algorithm.ES256, "k1", key("k1", ecKeyPair("secp256r1")));
+
+        assertThatThrownBy(() -> parse(ring, sign(other)))
+                .isInstanceOf(JwtException.class)
+                .hasMessageContaining("k2");
+    }
+
+    @Test
+    void acceptsHmacTokensOnlyWhileAcceptHmacIsSet() throws Exception {
+        String hmacToken = sign(new JwtKeyRing(new JwtSigningProperties(), SECRET));
+        JwtSigningProperties.SigningKey k1 = key("k1", ecKeyPair("secp256r1"));
+
+        JwtKeyRing accepting = ring(JwtSigningProperties.Algorithm.ES256, "k1", k1);
+        assertThat(parse(accepting, hmacToken).getPayload().getSubject()).isEqualTo("7");
+
+        JwtSigningProperties strict = properties(JwtSigningProperties.Algorithm.ES256, "k1", k1);
+        strict.setAcceptHmac(false);
+        JwtKeyRing rejecting = new JwtKeyRing(strict, SECRET);
+        assertThatThrownBy(() -> parse(rejecting, hmacToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void publishesEs256KeyAsP256() throws Exception {
+        JwtKeyRing ring = ring(JwtSigningProperties.Algorithm.ES256, "k1", key("k1", ecKeyPair("secp256r1")));
+
+        assertThat(jwks(ring)).singleElement().satisfies(jwk -> {
+            assertThat(jwk).containsEntry("kty", "EC")
+                    .containsEntry("crv", "P-256")
+                    .containsEntry("alg", "ES256")
+                    .containsEntry("use", "sig");
+            assertThat(Base64.getUrlDecoder().decode((String) jwk.get("x"))).hasSize(32);
+            assertThat(Base64.getUrlDecoder().decode((String) jwk.get("y"))).hasSize(32);
+        });
+    }
+
+    @Test
+    void rejectsEcKeyOnAnotherCurve() throws Exception {
+        JwtSigningProperties.SigningKey p384 = key("k1", ecKeyPair("secp384r1"));
+
+        assertThatThrownBy(() -> ring(JwtSigningProperties.Algorithm.ES256, "k1", p384))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("P-256");
+    }
+
+    private static JwtKeyRing ring(JwtSigningProperties.Algorithm algorithm, String activeKeyId,
+                                   JwtSigningProperties.SigningKey... keys) {
+        return new JwtKeyRing(properties(algorithm, activeKeyId, keys), SECRET);
+    }
+
+    private static JwtSigningProperties properties(JwtSigningProperties.Algorithm algorithm, String activeKeyId,
+                                                   JwtSigningProperties.SigningKey... keys) {
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setAlgorithm(algorithm);
+        properties.setActiveKeyId(activeKeyId);
+        properties.setKeys(List.of(keys));
+        return properties;
+    }
+
+    private static JwtSigningProperties.SigningKey key(String id, KeyPair keyPair) {
+        JwtSigningProperties.SigningKey key = new JwtSigningProperties.SigningKey();
+        key.setId(id);
+        if (keyPair != null) {
+            key.setPublicKey(pem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+            key.setPrivateKey(pem("PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+        }
+        return key;
+    }
+
+    private static KeyPair ecKeyPair(String curve) throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec(curve));
+        return generator.generateKeyPair();
+    }
+
+    private static Resource pem(String type, byte[] der) {
+        String pem = "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+        return new ByteArrayResource(pem.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String sign(JwtKeyRing ring) {
+        return ring.signWith(Jwts.builder().subject("7")).compact();
+    }
+
+    private static Jws<Claims> parse(JwtKeyRing ring, String token) {
+        return Jwts.parser().keyLocator(ring).build().parseSignedClaims(token);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> jwks(JwtKeyRing ring) {
+        return (List<Map<String, Object>>) ring.getJwks().get("keys");
+    }
+}
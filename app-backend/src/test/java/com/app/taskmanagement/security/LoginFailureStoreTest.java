@@ -0,0 +1,95 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginFailureStoreTest extends RedisContainerSupport {
+
+    private static final long WINDOW = 1000;
+
+    private LettuceConnectionFactory secondConnection;
+    private LoginFailureStore nodeA;
+    private LoginFailureStore nodeB;
+
+    @BeforeEach
+    void setUp() {
+        secondConnection = newConnectionFactory();
+        nodeA = new LoginFailureStore(stringRedisTemplate, new SimpleMeterRegistry(), 15);
+        nodeB = new LoginFailureStore(new StringRedisTemplate(secondConnection), new SimpleMeterRegistry(), 15);
+    }
+
+    @AfterEach
+    void tearDown() {
+        secondConnection.destroy();
+    }
+
+    @Test
+    void nodesShareOneSeed() {
+        byte[] seed = nodeA.loadSeed();
+
+        assertThat(seed).isNotEmpty();
+        assertThat(nodeB.loadSeed()).isEqualTo(seed);
+    }
+
+    @Test
+    void sketchPushesFromBothNodesAreMerged() {
+        nodeA.pushSketch(WINDOW, new int[]{1, 0, 2, 0}, WINDOW - 1, null, false);
+
+        LoginFailureStore.SketchTotals totals = nodeB.pushSketch(WINDOW, new int[]{0, 0, 3, 1}, WINDOW - 1, null, true);
+
+        assertThat(totals.current()).containsExactly(1, 0, 5, 1);
+        assertThat(totals.previous()).isEmpty();
+        assertThat(stringRedisTemplate.getExpire("login_failures:" + WINDOW)).isPositive();
+    }
+
+    @Test
+    void retiredDeltasLandInTheirOwnWindow() {
+        nodeA.pushSketch(WINDOW, new int[]{1}, WINDOW - 1, new int[]{4, 2}, false);
+
+        LoginFailureStore.SketchTotals totals = nodeB.pushSketch(WINDOW, new int[0], WINDOW - 1, null, true);
+
+        assertThat(totals.current()).containsExactly(1);
+        assertThat(totals.previous()).containsExactly(4, 2);
+    }
+
+    @Test
+    void sketchCellsSaturateInsteadOfWrapping() {
+        nodeA.pushSketch(WINDOW, new int[]{65_000}, WINDOW - 1, null, false);
+
+        LoginFailureStore.SketchTotals totals = nodeB.pushSketch(WINDOW, new int[]{1_000}, WINDOW - 1, null, false);
+
+        assertThat(totals.current()).containsExactly(65_535);
+    }
+
+    @Test
+    void exactCountsAreMergedAcrossNodesAndWindows() {
+        nodeA.pushExact(WINDOW - 1, List.of("a"), new int[]{7});
+        nodeA.pushExact(WINDOW, List.of("a", "b"), new int[]{2, 1});
+
+        LoginFailureStore.ExactTotals totals = nodeB.pushExact(WINDOW, List.of("a", "b", "c"), new int[]{1, 0, 0});
+
+        assertThat(totals.current()).containsExactly(3, 1, 0);
+        assertThat(totals.previous()).containsExactly(7, 0, 0);
+    }
+
+    @Test
+    void clearedCountReadsBackAsZeroOnEveryNode() {
+        nodeA.pushExact(WINDOW - 1, List.of("a", "b"), new int[]{7, 4});
+        nodeA.pushExact(WINDOW, List.of("a", "b"), new int[]{2, 3});
+
+        nodeA.clearExact(WINDOW, "a");
+
+        LoginFailureStore.ExactTotals totals = nodeB.pushExact(WINDOW, List.of("a", "b"), new int[]{0, 0});
+        assertThat(totals.current()).containsExactly(0, 3);
+        assertThat(totals.previous()).containsExactly(0, 4);
+    }
+}
@@ -0,0 +1,87 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.config.RateLimitProperties;
+import com.app.taskmanagement.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest extends RedisContainerSupport {
+
+    private static final String KEY = "login:ip:203.0.113.7";
+    // Long enough that nothing refills while the test runs
+    private static final RateLimitProperties.Limit LIMIT = new RateLimitProperties.Limit(10, Duration.ofHours(1));
+
+    private LettuceConnectionFactory secondConnection;
+    private RateLimiter nodeA;
+    private RateLimiter nodeB;
+
+    @BeforeEach
+    void setUp() {
+        secondConnection = newConnectionFactory();
+        nodeA = new RateLimiter(stringRedisTemplate, new RateLimitProperties(), new SimpleMeterRegistry());
+        nodeB = new RateLimiter(new StringRedisTemplate(secondConnection), new RateLimitProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        secondConnection.destroy();
+    }
+
+    @Test
+    void nodeSeesConsumptionOfOtherNodeOnFirstSync() {
+        for (int i = 0; i < LIMIT.getCapacity(); i++) {
+            assertThat(nodeA.tryAcquire(KEY, LIMIT)).isZero();
+        }
+        nodeA.sync();
+
+        // Let through before node B has synced: the documented one-interval overshoot
+        assertThat(nodeB.tryAcquire(KEY, LIMIT)).isZero();
+        nodeB.sync();
+
+        assertThat(nodeB.tryAcquire(KEY, LIMIT)).isPositive();
+    }
+
+    @Test
+    void idleBucketStillPullsOtherNodesConsumption() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(nodeA.tryAcquire(KEY, LIMIT)).isZero();
+        }
+        nodeA.sync();
+        assertThat(nodeB.tryAcquire(KEY, LIMIT)).isZero();
+        nodeB.sync();
+
+        // Node B has nothing to report this time, but must still learn about node A
+        for (int i = 0; i < 4; i++) {
+            assertThat(nodeA.tryAcquire(KEY, LIMIT)).isZero();
+        }
+        nodeA.sync();
+        nodeB.sync();
+
+        assertThat(nodeB.tryAcquire(KEY, LIMIT)).isPositive();
+    }
+
+    @Test
+    void nodesTogetherOvershootByAtMostOneInterval() {
+        int allowed = 0;
+        for (int round = 0; round < 10; round++) {
+            for (RateLimiter node : new RateLimiter[]{nodeA, nodeB}) {
+                if (node.tryAcquire(KEY, LIMIT) == 0) {
+                    allowed++;
+                }
+                node.sync();
+            }
+        }
+
+        // At most one request from the other node slips through between syncs
+        assertThat(allowed).isBetween(LIMIT.getCapacity(), LIMIT.getCapacity() + 1);
+    }
+}
@@ -0,0 +1,151 @@
+package com.app.taskmanagement.security;
+
+import com.app.taskmanagement.config.JwtSigningProperties;
+import com.app.taskmanagement.config.RedisConfig;
+import com.app.taskmanagement.constant.SecurityConstants;
+import com.app.taskmanagement.model.User;
+import com.app.taskmanagement.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class TokenEpochStoreTest extends RedisContainerSupport {
+
+    private static final long USER_ID = 7L;
+    private static final String SECRET = "test-secret-that-is-at-least-32-bytes-long";
+
+    private final List<RedisMessageListenerContainer> containers = new ArrayList<>();
+    private LettuceConnectionFactory secondConnection;
+    private TokenEpochStore nodeA;
+    private TokenEpochStore nodeB;
+
+    @BeforeEach
+    void setUp() {
+        secondConnection = newConnectionFactory();
+        nodeA = store(redisTemplate, connectionFactory);
+        nodeB = store(new RedisConfig().redisTemplate(secondConnection), secondConnection);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        SecurityContextHolder.clearContext();
+        for (RedisMessageListenerContainer container : containers) {
+            container.destroy();
+        }
+        secondConnection.destroy();
+    }
+
+    @Test
+    void bumpedEpochRejectsExistingAccessToken() throws Exception {
+        UserPrincipalCache principalCache = mock(UserPrincipalCache.class);
+        JwtUtil jwtUtil = jwtUtil(nodeA);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtUtil, principalCache, nodeA);
+        String token = jwtUtil.generateAccessToken(user());
+
+        assertThat(authenticate(filter, token)).isNotNull();
+
+        nodeA.bump(USER_ID);
+
+        assertThat(authenticate(filter, token)).isNull();
+        // The epoch is the only check: the principal cache is never consulted
+        verifyNoInteractions(principalCache);
+
+        String refreshed = jwtUtil.generateAccessToken(user());
+        assertThat(authenticate(filter, refreshed)).isNotNull();
+    }
+
+    @Test
+    void bumpOnOneNodeRejectsTokenOnAnother() {
+        long minted = nodeB.currentEpoch(USER_ID);
+
+        nodeA.bump(USER_ID);
+
+        await(() -> !nodeB.isCurrent(USER_ID, minted));
+    }
+
+    @Test
+    void broadcastsOnlyEverRaiseTheEpoch() {
+        nodeA.bump(USER_ID);
+        await(() -> nodeB.currentEpoch(USER_ID) == nodeA.currentEpoch(USER_ID));
+        long bumped = nodeB.currentEpoch(USER_ID);
+
+        // A stale message, e.g. delivered late from an earlier bump, must not lower the epoch
+        redisTemplate.convertAndSend(SecurityConstants.TOKEN_EPOCH_CHANNEL, USER_ID + ":" + (bumped - 1000));
+        long marker = System.currentTimeMillis() + 1_000_000;
+        redisTemplate.convertAndSend(SecurityConstants.TOKEN_EPOCH_CHANNEL, "8:" + marker);
+        await(() -> nodeB.currentEpoch(8L) == marker);
+
+        assertThat(nodeB.currentEpoch(USER_ID)).isEqualTo(bumped);
+        assertThat(nodeB.isCurrent(USER_ID, bumped - 1000)).isFalse();
+    }
+
+    private TokenEpochStore store(RedisTemplate<String, Object> template, LettuceConnectionFactory factory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.afterPropertiesSet();
+        containers.add(container);
+
+        TokenEpochStore store = new TokenEpochStore(template, container, 1000, 300);
+        container.start();
+        return store;
+    }
+
+    private static JwtUtil jwtUtil(TokenEpochStore store) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtUtil jwtUtil = new JwtUtil(new VerifiedTokenCache(meterRegistry, 100), store,
+                new JwtKeyRing(new JwtSigningProperties(), SECRET), meterRegistry);
+        ReflectionTestUtils.setField(jwtUtil, "accessTokenExpiration", 60_000L);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private static Authentication authenticate(JwtAuthenticationFilter filter, String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader(SecurityConstants.AUTHORIZATION_HEADER, SecurityConstants.TOKEN_PREFIX + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static User user() {
+        return User.builder()
+                .id(USER_ID)
+                .publicId("public-7")
+                .email("user@example.com")
+                .fullName("User")
+                .emailVerified(true)
+                .build();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5 seconds").isLessThan(deadline);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
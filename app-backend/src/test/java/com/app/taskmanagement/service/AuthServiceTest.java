@@ -0,0 +1,97 @@
+package com.app.taskmanagement.service;
+
+import com.app.taskmanagement.constant.ErrorCode;
+import com.app.taskmanagement.dto.request.LoginRequest;
+import com.app.taskmanagement.exception.ApplicationException;
+import com.app.taskmanagement.mapper.AuthMapper;
+import com.app.taskmanagement.mapper.UserMapper;
+import com.app.taskmanagement.model.User;
+import com.app.taskmanagement.repository.UserRepository;
+import com.app.taskmanagement.security.BruteForceDetector;
+import com.app.taskmanagement.security.JwtUtil;
+import com.app.taskmanagement.security.TokenEpochStore;
+import com.app.taskmanagement.security.UserPrincipalCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    private static final String EMAIL = "user@example.com";
+    private static final String PASSWORD = "correct horse";
+    private static final String LEGACY_HASH = "legacy-hash";
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final PasswordHashingService passwordHashingService = mock(PasswordHashingService.class);
+    private final RefreshTokenRedisService refreshTokenRedisService = mock(RefreshTokenRedisService.class);
+    private final LastLoginRecorder lastLoginRecorder = mock(LastLoginRecorder.class);
+
+    private AuthService authService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        authService = new AuthService(userRepository, passwordHashingService, mock(JwtUtil.class),
+                mock(EmailService.class), mock(OtpRedisService.class), refreshTokenRedisService,
+                mock(UserMapper.class), mock(AuthMapper.class), mock(UserPrincipalCache.class),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), lastLoginRecorder,
+                mock(BruteForceDetector.class), mock(TokenEpochStore.class));
+        ReflectionTestUtils.setField(authService, "accessTokenExpiration", 60_000L);
+
+        user = User.builder()
+                .id(7L)
+                .email(EMAIL)
+                .fullName("User")
+                .passwordHash(LEGACY_HASH)
+                .emailVerified(true)
+                .isActive(true)
+                .build();
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches(PASSWORD, LEGACY_HASH)).thenReturn(true);
+        when(passwordHashingService.needsRehash(LEGACY_HASH)).thenReturn(true);
+        when(refreshTokenRedisService.createRefreshToken(eq(user), any(MockHttpServletRequest.class)))
+                .thenReturn("refresh-token");
+    }
+
+    @Test
+    void upgradesLegacyHashOnLogin() {
+        when(passwordHashingService.encode(PASSWORD)).thenReturn("upgraded-hash");
+
+        login();
+
+        verify(userRepository).updatePasswordHash(7L, "upgraded-hash");
+    }
+
+    @Test
+    void busyHashingPoolDoesNotFailTheLogin() {
+        when(passwordHashingService.encode(PASSWORD)).thenThrow(new ApplicationException(ErrorCode.SERVER_BUSY));
+
+        login();
+
+        verify(userRepository, never()).updatePasswordHash(anyLong(), anyString());
+        verify(lastLoginRecorder).record(eq(7L), any());
+        verify(refreshTokenRedisService).createRefreshToken(eq(user), any(MockHttpServletRequest.class));
+    }
+
+    private void login() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        authService.login(new LoginRequest(EMAIL, PASSWORD), new MockHttpServletRequest(), response);
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+}
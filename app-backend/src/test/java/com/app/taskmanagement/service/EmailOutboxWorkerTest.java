@@ -0,0 +1,80 @@
+package com.app.taskmanagement.service;
+
+import com.app.taskmanagement.config.AsyncConfig;
+import com.app.taskmanagement.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxWorkerTest {
+
+    private static final int WORKERS = 4;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger claims = new AtomicInteger();
+
+    private ThreadPoolTaskExecutor executor;
+    private EmailOutboxWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // One thread and one queue slot, so most of the worker slots are rejected
+        executor = (ThreadPoolTaskExecutor) new AsyncConfig().emailExecutor(meterRegistry, 1, 1, 1, false, 1000);
+        executor.initialize();
+
+        EmailOutboxRepository repository = mock(EmailOutboxRepository.class);
+        when(repository.claimBatch(any(LocalDateTime.class), anyInt())).thenAnswer(invocation -> {
+            claims.incrementAndGet();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        worker = new EmailOutboxWorker(repository, mock(EmailDispatcher.class), executor,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry, WORKERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void rejectedDrainTasksGiveTheirSlotsBack() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            worker.poll();
+        }
+        // One drain task running, one queued, the rest rejected and released
+        assertThat(workerSlots().availablePermits()).isEqualTo(WORKERS - 2);
+
+        release.countDown();
+        executor.getThreadPoolExecutor().shutdown();
+        assertThat(executor.getThreadPoolExecutor().awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(claims).hasValue(2);
+        assertThat(workerSlots().availablePermits()).isEqualTo(WORKERS);
+    }
+
+    private Semaphore workerSlots() {
+        return (Semaphore) ReflectionTestUtils.getField(worker, "workerSlots");
+    }
+}
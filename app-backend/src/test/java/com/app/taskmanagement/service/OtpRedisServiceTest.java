@@ -0,0 +1,97 @@
+package com.app.taskmanagement.service;
+
+import com.app.taskmanagement.constant.ErrorCode;
+import com.app.taskmanagement.constant.SecurityConstants;
+import com.app.taskmanagement.exception.ApplicationException;
+import com.app.taskmanagement.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OtpRedisServiceTest extends RedisContainerSupport {
+
+    private static final String EMAIL = "user@example.com";
+    private static final String OTP_KEY = SecurityConstants.OTP_PREFIX + EMAIL;
+    private static final String ATTEMPTS_KEY = SecurityConstants.OTP_ATTEMPTS_PREFIX + EMAIL;
+    private static final String WRONG_CODE = "000000";
+
+    private OtpRedisService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new OtpRedisService(stringRedisTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void issuanceIsLimitedPerWindow() {
+        for (int i = 0; i < SecurityConstants.MAX_OTP_ATTEMPTS; i++) {
+            service.generateAndSaveOtp(EMAIL);
+        }
+
+        assertThatThrownBy(() -> service.generateAndSaveOtp(EMAIL))
+                .isInstanceOf(ApplicationException.class)
+                .extracting(e -> ((ApplicationException) e).getErrorCode())
+                .isEqualTo(ErrorCode.TOO_MANY_OTP_ATTEMPTS);
+    }
+
+    @Test
+    void issuesFallingOutOfTheWindowNoLongerCount() {
+        long expired = System.currentTimeMillis()
+                - TimeUnit.MINUTES.toMillis(SecurityConstants.OTP_RATE_LIMIT_WINDOW_MINUTES) - 1_000;
+        for (int i = 0; i < SecurityConstants.MAX_OTP_ATTEMPTS; i++) {
+            stringRedisTemplate.opsForZSet().add(ATTEMPTS_KEY, "old-" + i, expired);
+        }
+
+        String otp = service.generateAndSaveOtp(EMAIL);
+
+        assertThat(service.verifyOtp(EMAIL, otp)).isTrue();
+    }
+
+    @Test
+    void otpIsConsumedOnSuccess() {
+        String otp = service.generateAndSaveOtp(EMAIL);
+
+        assertThat(service.verifyOtp(EMAIL, otp)).isTrue();
+        assertThat(service.verifyOtp(EMAIL, otp)).isFalse();
+        assertThat(stringRedisTemplate.hasKey(ATTEMPTS_KEY)).isFalse();
+    }
+
+    @Test
+    void otpIsBurnedAfterTooManyWrongGuesses() {
+        String otp = service.generateAndSaveOtp(EMAIL);
+
+        for (int i = 0; i < SecurityConstants.MAX_OTP_GUESSES - 1; i++) {
+            assertThat(service.verifyOtp(EMAIL, WRONG_CODE)).isFalse();
+        }
+        assertThat(stringRedisTemplate.hasKey(OTP_KEY)).isTrue();
+
+        assertThat(service.verifyOtp(EMAIL, WRONG_CODE)).isFalse();
+        assertThat(stringRedisTemplate.hasKey(OTP_KEY)).isFalse();
+        assertThat(service.verifyOtp(EMAIL, otp)).isFalse();
+    }
+
+    @Test
+    void acceptsLegacyPlainAndQuotedOtps() {
+        stringRedisTemplate.opsForValue().set(OTP_KEY, "123456");
+        assertThat(service.verifyOtp(EMAIL, "123456")).isTrue();
+
+        stringRedisTemplate.opsForValue().set(OTP_KEY, "\"654321\"");
+        assertThat(service.verifyOtp(EMAIL, WRONG_CODE)).isFalse();
+        assertThat(stringRedisTemplate.hasKey(OTP_KEY)).isFalse();
+    }
+
+    @Test
+    void replacesLegacyStringCounter() {
+        stringRedisTemplate.opsForValue().set(ATTEMPTS_KEY, String.valueOf(SecurityConstants.MAX_OTP_ATTEMPTS));
+
+        String otp = service.generateAndSaveOtp(EMAIL);
+
+        assertThat(stringRedisTemplate.opsForZSet().zCard(ATTEMPTS_KEY)).isEqualTo(1L);
+        assertThat(service.verifyOtp(EMAIL, otp)).isTrue();
+    }
+}
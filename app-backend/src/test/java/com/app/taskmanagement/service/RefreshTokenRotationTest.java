@@ -0,0 +1,175 @@
+package com.app.taskmanagement.service;
+
+import com.app.taskmanagement.model.User;
+import com.app.taskmanagement.security.TokenEpochStore;
+import com.app.taskmanagement.support.RedisContainerSupport;
+import io.lettuce.core.cluster.SlotHash;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RefreshTokenRotationTest extends RedisContainerSupport {
+
+    private static final long USER_ID = 42L;
+
+    private RefreshTokenRedisService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        service = new RefreshTokenRedisService(
+                redisTemplate, stringRedisTemplate, mock(TokenEpochStore.class), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "refreshTokenExpiration", 60_000L);
+        ReflectionTestUtils.setField(service, "compactEncoding", true);
+
+        user = User.builder().id(USER_ID).email("user@example.com").fullName("User").build();
+    }
+
+    @Test
+    void rotatedTokenCannotBeReused() {
+        String token = service.createRefreshToken(user, device("Firefox"));
+
+        RefreshTokenRedisService.RotatedToken rotated = service.rotateRefreshToken(token, device("Firefox"));
+
+        assertThat(rotated).isNotNull();
+        assertThat(rotated.userId()).isEqualTo(USER_ID);
+        assertThat(rotated.token()).isNotEqualTo(token);
+        assertThat(service.rotateRefreshToken(token, device("Firefox"))).isNull();
+        assertThat(service.rotateRefreshToken(rotated.token(), device("Firefox"))).isNotNull();
+    }
+
+    @Test
+    void tokenPresentedFromAnotherDeviceIsRevoked() {
+        String token = service.createRefreshToken(user, device("Firefox"));
+
+        assertThat(service.rotateRefreshToken(token, device("Chrome"))).isNull();
+        assertThat(service.rotateRefreshToken(token, device("Firefox"))).isNull();
+        assertThat(stringRedisTemplate.hasKey(RefreshTokenRedisService.refreshKey(token))).isFalse();
+        assertThat(service.getActiveSessions(USER_ID, null)).isEmpty();
+    }
+
+    @Test
+    void sessionsAreIndexedByPlainTokenAndListedWithTheirDeviceLabel() {
+        String token = service.createRefreshToken(user, device("Firefox"));
+        RefreshTokenRedisService.RotatedToken rotated = service.rotateRefreshToken(token, device("Firefox"));
+
+        assertThat(stringRedisTemplate.opsForZSet().range("user_sessions:{42}", 0, -1))
+                .containsExactly(rotated.token());
+        assertThat(service.getActiveSessions(USER_ID, rotated.token()))
+                .singleElement()
+                .satisfies(session -> {
+                    assertThat(session.getDeviceName()).isEqualTo("Firefox");
+                    assertThat(session.getCurrent()).isTrue();
+                });
+
+        service.revokeAllUserTokens(USER_ID);
+        assertThat(stringRedisTemplate.hasKey(RefreshTokenRedisService.refreshKey(rotated.token()))).isFalse();
+    }
+
+    @Test
+    void keysOfOneUserShareAClusterSlot() {
+        String token = service.createRefreshToken(user, device("Firefox"));
+
+        assertThat(token).startsWith(USER_ID + ".");
+        assertThat(RefreshTokenRedisService.refreshKey(token)).startsWith("refresh:{42}.");
+        assertThat(stringRedisTemplate.hasKey(RefreshTokenRedisService.refreshKey(token))).isTrue();
+        int slot = SlotHash.getSlot(RefreshTokenRedisService.refreshKey(token));
+        assertThat(SlotHash.getSlot("user_sessions:{42}")).isEqualTo(slot);
+        assertThat(SlotHash.getSlot("user_devices:{42}")).isEqualTo(slot);
+    }
+
+    @Test
+    void loginOnTheSameDeviceReplacesItsSession() {
+        String first = service.createRefreshToken(user, device("Firefox"));
+        String second = service.createRefreshToken(user, device("Firefox"));
+
+        assertThat(stringRedisTemplate.hasKey(RefreshTokenRedisService.refreshKey(first))).isFalse();
+        assertThat(service.rotateRefreshToken(first, device("Firefox"))).isNull();
+        assertThat(service.getActiveSessions(USER_ID, second)).singleElement()
+                .satisfies(session -> assertThat(session.getCurrent()).isTrue());
+    }
+
+    @Test
+    void legacyTokenIsListedAndRotatesIntoTaggedKeys() {
+        String deviceId = "Firefox_203.0.113.7";
+        stringRedisTemplate.opsForHash().put("refresh:legacy-token", "userId", "42");
+        stringRedisTemplate.opsForHash().put("refresh:legacy-token", "deviceId", "\"" + deviceId + "\"");
+        stringRedisTemplate.opsForHash().put("refresh:legacy-token", "createdAt", "\"2026-01-01T00:00:00\"");
+        stringRedisTemplate.expire("refresh:legacy-token", Duration.ofMinutes(1));
+        stringRedisTemplate.opsForZSet().add("user_sessions:42", "\"legacy-token\"", System.currentTimeMillis() + 60_000);
+        stringRedisTemplate.opsForHash().put("user_devices:42", deviceId, "\"legacy-token\"");
+
+        assertThat(service.getActiveSessions(USER_ID, "legacy-token")).singleElement()
+                .satisfies(session -> assertThat(session.getCurrent()).isTrue());
+
+        RefreshTokenRedisService.RotatedToken rotated = service.rotateRefreshToken("legacy-token", device("Firefox"));
+
+        assertThat(rotated).isNotNull();
+        assertThat(rotated.userId()).isEqualTo(USER_ID);
+        assertThat(stringRedisTemplate.hasKey("refresh:legacy-token")).isFalse();
+        assertThat(stringRedisTemplate.hasKey("user_sessions:42")).isFalse();
+        assertThat(stringRedisTemplate.hasKey("user_devices:42")).isFalse();
+        assertThat(stringRedisTemplate.opsForZSet().range("user_sessions:{42}", 0, -1))
+                .containsExactly(rotated.token());
+    }
+
+    @Test
+    void unknownOrMalformedTokensAreRejected() {
+        assertThat(service.rotateRefreshToken("not-a-user.token", device("Firefox"))).isNull();
+        assertThat(service.rotateRefreshToken("unknown-token", device("Firefox"))).isNull();
+
+        service.revokeToken("not-a-user.token");
+        assertThat(stringRedisTemplate.keys("*")).isEmpty();
+    }
+
+    @Test
+    void concurrentRotationsOfOneTokenHaveExactlyOneWinner() throws Exception {
+        String token = service.createRefreshToken(user, device("Firefox"));
+        int contenders = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(contenders);
+
+        try {
+            List<Future<RefreshTokenRedisService.RotatedToken>> results = new ArrayList<>();
+            for (int i = 0; i < contenders; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return service.rotateRefreshToken(token, device("Firefox"));
+                }));
+            }
+            start.countDown();
+
+            List<RefreshTokenRedisService.RotatedToken> winners = new ArrayList<>();
+            for (Future<RefreshTokenRedisService.RotatedToken> result : results) {
+                winners.add(result.get());
+            }
+
+            assertThat(winners.stream().filter(Objects::nonNull)).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(service.getActiveSessions(USER_ID, null)).hasSize(1);
+    }
+
+    private MockHttpServletRequest device(String userAgent) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("User-Agent", userAgent);
+        request.setRemoteAddr("203.0.113.7");
+        return request;
+    }
+}
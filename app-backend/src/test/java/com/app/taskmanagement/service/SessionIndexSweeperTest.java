@@ -0,0 +1,92 @@
+package com.app.taskmanagement.service;
+
+import com.app.taskmanagement.support.RedisContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionIndexSweeperTest extends RedisContainerSupport {
+
+    private static final String LEGACY_KEY = "user_tokens:7";
+    private static final String SESSIONS_KEY = "user_sessions:7";
+
+    private SessionIndexSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = newSweeper();
+    }
+
+    @Test
+    void migratesLargeLegacySetInChunks() {
+        Set<String> live = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String member = "\"token-" + i + "\"";
+            stringRedisTemplate.opsForSet().add(LEGACY_KEY, member);
+            if (i % 2 == 0) {
+                stringRedisTemplate.opsForHash().put("refresh:token-" + i, "u", "7");
+                stringRedisTemplate.expire("refresh:token-" + i, Duration.ofMinutes(10));
+                live.add("token-" + i);
+            }
+        }
+
+        sweeper.sweep();
+
+        assertThat(stringRedisTemplate.hasKey(LEGACY_KEY)).isFalse();
+        assertThat(stringRedisTemplate.opsForZSet().range(SESSIONS_KEY, 0, -1)).isEqualTo(live);
+        assertThat(stringRedisTemplate.getExpire(SESSIONS_KEY)).isPositive();
+    }
+
+    @Test
+    void prunesExpiredMembersBeyondOneChunk() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 450; i++) {
+            stringRedisTemplate.opsForZSet().add(SESSIONS_KEY, "\"expired-" + i + "\"", now - 1000 - i);
+        }
+        stringRedisTemplate.opsForZSet().add(SESSIONS_KEY, "\"live\"", now + 60_000);
+
+        sweeper.sweep();
+
+        assertThat(stringRedisTemplate.opsForZSet().range(SESSIONS_KEY, 0, -1)).containsExactly("\"live\"");
+    }
+
+    @Test
+    void prunesHashTaggedIndexes() {
+        long now = System.currentTimeMillis();
+        stringRedisTemplate.opsForZSet().add("user_sessions:{7}", "7.expired", now - 1000);
+        stringRedisTemplate.opsForZSet().add("user_sessions:{7}", "7.live", now + 60_000);
+
+        sweeper.sweep();
+
+        assertThat(stringRedisTemplate.opsForZSet().range("user_sessions:{7}", 0, -1)).containsExactly("7.live");
+        assertThat(stringRedisTemplate.getExpire("user_sessions:{7}")).isPositive();
+    }
+
+    @Test
+    void onlyOneNodeSweepsPerInterval() {
+        sweeper.sweep();
+
+        long now = System.currentTimeMillis();
+        stringRedisTemplate.opsForZSet().add(SESSIONS_KEY, "\"expired\"", now - 1000);
+        stringRedisTemplate.opsForZSet().add(SESSIONS_KEY, "\"live\"", now + 60_000);
+
+        newSweeper().sweep();
+
+        assertThat(stringRedisTemplate.opsForZSet().size(SESSIONS_KEY)).isEqualTo(2);
+    }
+
+    private SessionIndexSweeper newSweeper() {
+        SessionIndexSweeper instance = new SessionIndexSweeper(redisTemplate, stringRedisTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(instance, "scanCount", 100);
+        ReflectionTestUtils.setField(instance, "chunkSize", 200);
+        ReflectionTestUtils.setField(instance, "lockMillis", 60_000L);
+        return instance;
+    }
+}
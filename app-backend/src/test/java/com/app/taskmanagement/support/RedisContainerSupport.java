@@ -0,0 +1,64 @@
+package com.app.taskmanagement.support;
+
+import com.app.taskmanagement.config.RedisConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Runs the Lua scripts and pipelines against a real Redis. The database is flushed before
+ * each test; the templates are built the same way as in {@link RedisConfig}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class RedisContainerSupport {
+
+    private static final int REDIS_PORT = 6379;
+
+    @Container
+    protected static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(REDIS_PORT);
+
+    protected static LettuceConnectionFactory connectionFactory;
+    protected static RedisTemplate<String, Object> redisTemplate;
+    protected static StringRedisTemplate stringRedisTemplate;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = newConnectionFactory();
+        redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void flushRedis() {
+        stringRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+    }
+
+    /**
+     * A separate connection, for tests that stand in for a second node.
+     */
+    protected static LettuceConnectionFactory newConnectionFactory() {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(REDIS_PORT)));
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+}